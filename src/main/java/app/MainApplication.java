@@ -1,41 +1,26 @@
 package app;
 
 
-import repository.NotaFileRepository;
-import repository.StudentFileRepository;
-import repository.StudentXMLRepo;
-import repository.TemaXMLRepo;
-import repository.NotaXMLRepo;
-import repository.TemaFileRepository;
+import repository.StorageEngines;
 import service.Service;
-import validation.NotaValidator;
-import validation.StudentValidator;
-import validation.TemaValidator;
 import view.UI;
 
 
 
 public class MainApplication {
 
+    /**
+     * Proprietatea de sistem care alege mediul de stocare (vezi StorageEngines); implicit xml.
+     * Celelalte proprietati de sistem sunt transmise ca optiuni mediului de stocare.
+     */
+    private static final String REPOSITORY = "repository";
+
     public static void main(String[] args) {
-        StudentValidator studentValidator = new StudentValidator();
-        TemaValidator temaValidator = new TemaValidator();
-        String filenameStudent = "fisiere/Studenti.xml";
-        String filenameTema = "fisiere/Teme.xml";
-        String filenameNota = "fisiere/Note.xml";
-
-       //StudentFileRepository studentFileRepository = new StudentFileRepository(filenameStudent);
-        //TemaFileRepository temaFileRepository = new TemaFileRepository(filenameTema);
-        //NotaValidator notaValidator = new NotaValidator(studentFileRepository, temaFileRepository);
-        //NotaFileRepository notaFileRepository = new NotaFileRepository(filenameNota);
-
-        StudentXMLRepo studentXMLRepository = new StudentXMLRepo(filenameStudent);
-        TemaXMLRepo temaXMLRepository = new TemaXMLRepo(filenameTema);
-        NotaValidator notaValidator = new NotaValidator(studentXMLRepository, temaXMLRepository);
-        NotaXMLRepo notaXMLRepository = new NotaXMLRepo(filenameNota);
-        Service service = new Service(studentXMLRepository, studentValidator, temaXMLRepository, temaValidator, notaXMLRepository, notaValidator);
+        String tip = System.getProperty(REPOSITORY, StorageEngines.XML);
+        Service service = new Service(StorageEngines.create(tip, "fisiere", System.getProperties()));
         UI ui = new UI(service);
         ui.run();
+        service.close();
     }
 
 }
@@ -0,0 +1,198 @@
+package curent;
+
+import validation.ValidationException;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDate;
+import java.util.List;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Calendarul anului universitar: data de inceput este citita o singura data din fisier, iar saptamana
+ * fiecarei zile din primul an este calculata dinainte, astfel incat aflarea saptamanii unei date
+ * este o citire dintr-un tablou. Fisierul este urmarit (WatchService) si recitit doar cand se modifica.
+ */
+public class CalendarAcademic {
+    private static final String FISIER_IMPLICIT = "fisiere/DataInceput.txt";
+    private static final int ZILE = 52 * 7;
+
+    private static volatile CalendarAcademic implicit;
+
+    private final Path fisier;
+    private volatile Stare stare;
+    private WatchService watchService;
+
+    /**
+     * Data de inceput si saptamanile calculate pentru ea
+     */
+    private static final class Stare {
+        private final LocalDate inceput;
+        private final int[] saptamani;
+
+        private Stare(LocalDate inceput) {
+            this.inceput = inceput;
+            this.saptamani = new int[ZILE];
+            for (int zi = 0; zi < ZILE; zi++) {
+                saptamani[zi] = saptamana(zi);
+            }
+        }
+    }
+
+    /**
+     * Class constructor
+     * @param fisier - fisierul care contine data de inceput, in formatul an,luna,zi
+     * @throws ValidationException daca fisierul nu poate fi citit
+     */
+    public CalendarAcademic(Path fisier) {
+        this.fisier = fisier;
+        //urmarirea incepe inainte de citire, astfel incat nicio modificare sa nu fie pierduta
+        watch();
+        try {
+            this.stare = new Stare(citesteInceput());
+        } catch (RuntimeException exception) {
+            close();
+            throw exception;
+        }
+    }
+
+    /**
+     * @return calendarul citit din fisierul implicit, creat la prima folosire
+     */
+    public static CalendarAcademic implicit() {
+        CalendarAcademic calendar = implicit;
+        if (calendar == null) {
+            synchronized (CalendarAcademic.class) {
+                calendar = implicit;
+                if (calendar == null) {
+                    calendar = new CalendarAcademic(Paths.get(FISIER_IMPLICIT));
+                    implicit = calendar;
+                }
+            }
+        }
+        return calendar;
+    }
+
+    /**
+     * @return data la care a inceput anul universitar
+     */
+    public LocalDate getStartDate() {
+        return stare.inceput;
+    }
+
+    /**
+     * @param data - o data
+     * @return saptamana din anul universitar in care se afla data
+     */
+    public int getWeek(LocalDate data) {
+        Stare curenta = stare;
+        long zi = DAYS.between(curenta.inceput, data);
+        if (zi >= 0 && zi < ZILE) {
+            return curenta.saptamani[(int) zi];
+        }
+        return saptamana(zi);
+    }
+
+    /**
+     * @param saptamana - o saptamana din anul universitar (cel putin 1)
+     * @return prima zi a saptamanii
+     */
+    public LocalDate getWeekStart(int saptamana) {
+        return stare.inceput.plusDays((long) (saptamana - 1) * 7 + 1);
+    }
+
+    /**
+     * @param saptamana - o saptamana din anul universitar (cel putin 1)
+     * @return ultima zi a saptamanii
+     */
+    public LocalDate getWeekEnd(int saptamana) {
+        return stare.inceput.plusDays((long) saptamana * 7);
+    }
+
+    /**
+     * @return saptamana curenta din anul universitar
+     */
+    public int getCurrentWeek() {
+        return getWeek(LocalDate.now());
+    }
+
+    /**
+     * Opreste urmarirea fisierului
+     */
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException exception) {
+                throw new ValidationException(exception.getMessage());
+            }
+            watchService = null;
+        }
+    }
+
+    /**
+     * Reciteste data de inceput; daca fisierul nu poate fi citit (de exemplu este scris in acest moment),
+     * se pastreaza data anterioara
+     */
+    private void reload() {
+        try {
+            stare = new Stare(citesteInceput());
+        } catch (RuntimeException exception) {
+            //fisierul va fi recitit la urmatoarea modificare
+        }
+    }
+
+    private LocalDate citesteInceput() {
+        try {
+            List<String> linii = Files.readAllLines(fisier);
+            if (linii.isEmpty()) {
+                throw new ValidationException("Fisierul " + fisier + " nu contine data de inceput!");
+            }
+            String[] words = linii.get(0).split(",");
+            return LocalDate.of(Integer.parseInt(words[0].trim()), Integer.parseInt(words[1].trim()), Integer.parseInt(words[2].trim()));
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    private synchronized void watch() {
+        Path folder = fisier.toAbsolutePath().getParent();
+        Path nume = fisier.getFileName();
+        try {
+            watchService = folder.getFileSystem().newWatchService();
+            folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+        WatchService service = watchService;
+        Thread thread = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = service.take();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW || nume.equals(event.context())) {
+                            reload();
+                        }
+                    }
+                    key.reset();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException exception) {
+                //calendarul a fost inchis
+            }
+        }, "calendar-" + nume);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static int saptamana(long zi) {
+        return (int) Math.ceil((double) zi / 7);
+    }
+}
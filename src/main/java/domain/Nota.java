@@ -10,6 +10,7 @@ public class Nota implements HasID<String> {
     private String idTema;
     private double nota;
     private LocalDate data;
+    private double penalizare;
 
     /**
      * Class Constructor
@@ -20,11 +21,25 @@ public class Nota implements HasID<String> {
      * @param data - data in care a fost predata tema
      */
     public Nota(String id, String idStudent, String idTema, double nota, LocalDate data){
+        this(id, idStudent, idTema, nota, data, 0);
+    }
+
+    /**
+     * Class Constructor
+     * @param id - id-ul notei
+     * @param idStudent - id-ul studentului
+     * @param idTema - id-ul temei
+     * @param nota - valoarea notei, dupa penalizare
+     * @param data - data in care a fost predata tema
+     * @param penalizare - punctele scazute pentru predarea dupa deadline
+     */
+    public Nota(String id, String idStudent, String idTema, double nota, LocalDate data, double penalizare){
         this.id = id;
         this.idStudent = idStudent;
         this.idTema = idTema;
         this.nota = nota;
         this.data = data;
+        this.penalizare = penalizare;
     }
 
     /**
@@ -63,9 +78,32 @@ public class Nota implements HasID<String> {
         return data;
     }
 
+    /**
+     * @return punctele scazute pentru predarea dupa deadline
+     */
+    public double getPenalizare() {
+        return penalizare;
+    }
+
+    /**
+     * Modifica penalizarea unei note
+     * @param penalizare - punctele scazute pentru predarea dupa deadline
+     */
+    public void setPenalizare(double penalizare) {
+        this.penalizare = penalizare;
+    }
+
+    /**
+     * @return nota data de profesor, inainte de penalizare
+     */
+    public double getNotaInitiala() {
+        return nota + penalizare;
+    }
+
     @Override
     public String toString() {
-        return idStudent + "," + idTema + "," + nota + "," + data;
+        String linie = idStudent + "," + idTema + "," + nota + "," + data;
+        return penalizare == 0 ? linie : linie + "," + penalizare;
     }
 
     /**
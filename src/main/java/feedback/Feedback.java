@@ -0,0 +1,96 @@
+package feedback;
+
+/**
+ * Feedback-ul primit de un student la o tema
+ */
+public class Feedback {
+    private final String idStudent;
+    private final String numeStudent;
+    private final String idTema;
+    private final double nota;
+    private final int predare;
+    private final int deadline;
+    private final String text;
+
+    /**
+     * Class constructor
+     * @param idStudent - id-ul studentului
+     * @param numeStudent - numele studentului
+     * @param idTema - id-ul temei
+     * @param nota - nota primita
+     * @param predare - saptamana in care a fost predata tema
+     * @param deadline - deadline-ul temei
+     * @param text - feedback-ul
+     */
+    public Feedback(String idStudent, String numeStudent, String idTema, double nota, int predare, int deadline, String text) {
+        this.idStudent = idStudent;
+        this.numeStudent = numeStudent;
+        this.idTema = idTema;
+        this.nota = nota;
+        this.predare = predare;
+        this.deadline = deadline;
+        this.text = text;
+    }
+
+    /**
+     * @return id-ul studentului
+     */
+    public String getIdStudent() {
+        return idStudent;
+    }
+
+    /**
+     * @return numele studentului
+     */
+    public String getNumeStudent() {
+        return numeStudent;
+    }
+
+    /**
+     * @return id-ul temei
+     */
+    public String getIdTema() {
+        return idTema;
+    }
+
+    /**
+     * @return nota primita
+     */
+    public double getNota() {
+        return nota;
+    }
+
+    /**
+     * @return saptamana in care a fost predata tema
+     */
+    public int getPredare() {
+        return predare;
+    }
+
+    /**
+     * @return deadline-ul temei
+     */
+    public int getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @return feedback-ul
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return feedback-ul in formatul din fisierele studentilor
+     */
+    @Override
+    public String toString() {
+        return "\nTema: " + idTema
+                + "\nNota: " + nota
+                + "\nPredata in saptamana: " + predare
+                + "\nDeadline: " + deadline
+                + "\nFeedback: " + text
+                + System.lineSeparator();
+    }
+}
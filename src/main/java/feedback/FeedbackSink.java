@@ -0,0 +1,23 @@
+package feedback;
+
+/**
+ * Destinatia feedback-ului dat studentilor
+ */
+public interface FeedbackSink {
+
+    /**
+     * Scrie un feedback
+     * @param feedback - feedback-ul
+     */
+    void write(Feedback feedback);
+
+    /**
+     * La revenire, tot feedback-ul scris inainte de apel este persistat
+     */
+    void flush();
+
+    /**
+     * Persista feedback-ul in asteptare si elibereaza resursele
+     */
+    void close();
+}
@@ -0,0 +1,343 @@
+package feedback;
+
+import validation.ValidationException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memoreaza tot feedback-ul intr-un singur fisier de date in care se adauga doar la sfarsit (feedback.dat),
+ * insotit de un index (feedback.idx) cu pozitia fiecarui feedback, dupa id-ul studentului si al temei.
+ * Indexul este incarcat in memorie la deschidere, astfel incat istoricul unui student este citit direct de la
+ * pozitiile lui, fara parcurgerea fisierului de date. Daca aplicatia s-a oprit in timpul unei scrieri, inregistrarea
+ * incompleta de la sfarsitul fisierului de date este eliminata, intrarile din index care indica dincolo de
+ * sfarsitul fisierului de date sunt sterse, iar intrarile lipsa din index sunt refacute.
+ */
+public class FeedbackStore implements FeedbackSink {
+    private static final String DATE = "feedback.dat";
+    private static final String INDEX = "feedback.idx";
+
+    private final Path fisierDate;
+    private final Path fisierIndex;
+    private final Map<String, List<Long>> dupaStudent = new HashMap<>();
+    private final Map<String, List<Long>> dupaStudentTema = new HashMap<>();
+    private long sfarsit;
+    private long ultimaPozitie = -1;
+    private DataOutputStream date;
+    private DataOutputStream index;
+    private FileChannel citire;
+
+    /**
+     * Class constructor
+     * @param folder - folderul fisierelor; acestea sunt create la prima scriere
+     */
+    public FeedbackStore(Path folder) {
+        this.fisierDate = folder.resolve(DATE);
+        this.fisierIndex = folder.resolve(INDEX);
+        try {
+            loadIndex();
+            recover();
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Adauga un feedback la sfarsitul fisierului de date si pozitia lui in index
+     * @param feedback - feedback-ul
+     */
+    @Override
+    public synchronized void write(Feedback feedback) {
+        try {
+            ByteArrayOutputStream continut = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(continut);
+            writeString(out, feedback.getIdStudent());
+            writeString(out, feedback.getNumeStudent());
+            writeString(out, feedback.getIdTema());
+            out.writeDouble(feedback.getNota());
+            out.writeInt(feedback.getPredare());
+            out.writeInt(feedback.getDeadline());
+            writeString(out, feedback.getText());
+            openStreams();
+            long pozitie = sfarsit;
+            date.writeInt(continut.size());
+            continut.writeTo(date);
+            sfarsit += Integer.BYTES + continut.size();
+            addToIndex(feedback.getIdStudent(), feedback.getIdTema(), pozitie, true);
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return feedback-ul studentului, in ordinea in care a fost dat
+     */
+    public synchronized List<Feedback> findByStudent(String idStudent) {
+        return read(dupaStudent.get(idStudent));
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @param idTema - id-ul temei
+     * @return feedback-ul studentului la tema data, in ordinea in care a fost dat
+     */
+    public synchronized List<Feedback> findByStudentAndTema(String idStudent, String idTema) {
+        return read(dupaStudentTema.get(cheie(idStudent, idTema)));
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            if (date != null) {
+                date.flush();
+                index.flush();
+            }
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (date != null) {
+                date.close();
+                index.close();
+                date = null;
+                index = null;
+            }
+            if (citire != null) {
+                citire.close();
+                citire = null;
+            }
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    private List<Feedback> read(List<Long> pozitii) {
+        List<Feedback> rezultat = new ArrayList<>();
+        if (pozitii == null) {
+            return rezultat;
+        }
+        flush();
+        try {
+            if (citire == null) {
+                citire = FileChannel.open(fisierDate, StandardOpenOption.READ);
+            }
+            for (long pozitie : pozitii) {
+                rezultat.add(readRecord(readRecordBytes(citire, pozitie)));
+            }
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+        return rezultat;
+    }
+
+    private ByteBuffer readRecordBytes(FileChannel channel, long pozitie) throws IOException {
+        ByteBuffer continut = ByteBuffer.allocate(readLength(channel, pozitie));
+        readFully(channel, continut, pozitie + Integer.BYTES);
+        return continut.flip();
+    }
+
+    private int readLength(FileChannel channel, long pozitie) throws IOException {
+        ByteBuffer lungime = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, lungime, pozitie);
+        return lungime.flip().getInt();
+    }
+
+    private void readFully(FileChannel channel, ByteBuffer buffer, long pozitie) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, pozitie + buffer.position()) < 0) {
+                throw new EOFException("Fisierul " + fisierDate + " este incomplet!");
+            }
+        }
+    }
+
+    private static Feedback readRecord(ByteBuffer buffer) {
+        String idStudent = readString(buffer);
+        String numeStudent = readString(buffer);
+        String idTema = readString(buffer);
+        double nota = buffer.getDouble();
+        int predare = buffer.getInt();
+        int deadline = buffer.getInt();
+        return new Feedback(idStudent, numeStudent, idTema, nota, predare, deadline, readString(buffer));
+    }
+
+    /**
+     * Incarca intrarile complete din index. Fisierele de date si de index sunt scrise prin buffere separate, deci
+     * dupa o oprire in timpul scrierii indexul poate indica inregistrari care nu au ajuns in fisierul de date:
+     * indexul este pastrat doar pana la prima intrare care nu indica inregistrarea urmatoare, completa, din fisierul
+     * de date, iar restul este sters (recover il reface din fisierul de date)
+     */
+    private void loadIndex() throws IOException {
+        if (!Files.exists(fisierIndex)) {
+            return;
+        }
+        long complet = 0;
+        long urmatoarea = 0;
+        try (FileChannel channel = Files.exists(fisierDate) ? FileChannel.open(fisierDate, StandardOpenOption.READ) : null;
+             InputStream inputStream = Files.newInputStream(fisierIndex);
+             CountingInputStream citit = new CountingInputStream(new BufferedInputStream(inputStream));
+             DataInputStream in = new DataInputStream(citit)) {
+            long dimensiune = channel == null ? 0 : channel.size();
+            while (true) {
+                String idStudent = in.readUTF();
+                String idTema = in.readUTF();
+                long pozitie = in.readLong();
+                if (pozitie != urmatoarea || pozitie + Integer.BYTES > dimensiune) {
+                    break;
+                }
+                int lungime = readLength(channel, pozitie);
+                if (lungime < 0 || pozitie + Integer.BYTES + lungime > dimensiune) {
+                    break;
+                }
+                urmatoarea = pozitie + Integer.BYTES + lungime;
+                addToIndex(idStudent, idTema, pozitie, false);
+                complet = citit.pozitie;
+            }
+        } catch (EOFException exception) {
+            //sfarsitul intrarilor complete
+        }
+        truncate(fisierIndex, complet);
+    }
+
+    /**
+     * Adauga in index inregistrarile scrise dupa ultima intrare din index si elimina o inregistrare incompleta
+     * de la sfarsitul fisierului de date
+     */
+    private void recover() throws IOException {
+        if (!Files.exists(fisierDate)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(fisierDate, StandardOpenOption.READ)) {
+            long dimensiune = channel.size();
+            long pozitie = ultimaPozitie < 0 ? 0 : ultimaPozitie + Integer.BYTES + readLength(channel, ultimaPozitie);
+            while (pozitie + Integer.BYTES <= dimensiune) {
+                int lungime = readLength(channel, pozitie);
+                long urmatoarea = pozitie + Integer.BYTES + lungime;
+                if (lungime < 0 || urmatoarea > dimensiune) {
+                    break;
+                }
+                Feedback feedback = readRecord(readRecordBytes(channel, pozitie));
+                openStreams();
+                addToIndex(feedback.getIdStudent(), feedback.getIdTema(), pozitie, true);
+                pozitie = urmatoarea;
+            }
+            sfarsit = pozitie;
+        }
+        truncate(fisierDate, sfarsit);
+        flush();
+    }
+
+    private void openStreams() throws IOException {
+        if (date == null) {
+            Files.createDirectories(fisierDate.toAbsolutePath().getParent());
+            date = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fisierDate.toFile(), true)));
+            index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fisierIndex.toFile(), true)));
+        }
+    }
+
+    private void addToIndex(String idStudent, String idTema, long pozitie, boolean scrie) throws IOException {
+        ultimaPozitie = Math.max(ultimaPozitie, pozitie);
+        dupaStudent.computeIfAbsent(idStudent, id -> new ArrayList<>()).add(pozitie);
+        dupaStudentTema.computeIfAbsent(cheie(idStudent, idTema), id -> new ArrayList<>()).add(pozitie);
+        if (scrie) {
+            index.writeUTF(idStudent);
+            index.writeUTF(idTema);
+            index.writeLong(pozitie);
+        }
+    }
+
+    private static void truncate(Path fisier, long dimensiune) throws IOException {
+        if (Files.size(fisier) > dimensiune) {
+            try (FileChannel channel = FileChannel.open(fisier, StandardOpenOption.WRITE)) {
+                channel.truncate(dimensiune);
+            }
+        }
+    }
+
+    private static String cheie(String idStudent, String idTema) {
+        return idStudent + "#" + idTema;
+    }
+
+    private static void writeString(DataOutputStream out, String valoare) throws IOException {
+        if (valoare == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] octeti = valoare.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(octeti.length);
+        out.write(octeti);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int lungime = buffer.getInt();
+        if (lungime < 0) {
+            return null;
+        }
+        byte[] octeti = new byte[lungime];
+        buffer.get(octeti);
+        return new String(octeti, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Numara octetii cititi, pentru a trunchia indexul exact dupa ultima intrare completa
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long pozitie;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int octet = super.read();
+            if (octet >= 0) {
+                pozitie++;
+            }
+            return octet;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int numar = super.read(b, off, len);
+            if (numar > 0) {
+                pozitie += numar;
+            }
+            return numar;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long numar = super.skip(n);
+            pozitie += numar;
+            return numar;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
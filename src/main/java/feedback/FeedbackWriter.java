@@ -0,0 +1,171 @@
+package feedback;
+
+import validation.ValidationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Scrie feedback-ul asincron: write doar pune feedback-ul intr-o coada, iar un fir de executie din fundal
+ * il scrie in destinatie in loturi, urmate de cate un flush al destinatiei. Ordinea scrierilor este pastrata.
+ * Erorile destinatiei sunt aruncate de urmatorul apel flush sau close. La oprirea aplicatiei, feedback-ul
+ * din coada este scris inainte de iesire.
+ */
+public class FeedbackWriter implements FeedbackSink {
+    private static final int CAPACITATE = 10_000;
+    private static final int LOT = 256;
+    /**
+     * Ultimul element pus in coada, la inchidere
+     */
+    private static final Feedback SFARSIT = new Feedback(null, null, null, 0, 0, 0, null);
+
+    private final FeedbackSink destinatie;
+    private final BlockingQueue<Feedback> coada = new ArrayBlockingQueue<>(CAPACITATE);
+    private final Thread oprire = new Thread(this::close, "feedback-oprire");
+    private Thread scriitor;
+    private long trimise;
+    private long scrise;
+    private boolean inchis;
+    private RuntimeException eroare;
+
+    /**
+     * Class constructor
+     * @param destinatie - destinatia in care este scris feedback-ul; este folosita doar din firul de executie din fundal
+     */
+    public FeedbackWriter(FeedbackSink destinatie) {
+        this.destinatie = destinatie;
+    }
+
+    /**
+     * Pune feedback-ul in coada; daca aceasta este plina, asteapta sa se elibereze un loc
+     * @param feedback - feedback-ul
+     */
+    @Override
+    public synchronized void write(Feedback feedback) {
+        if (inchis) {
+            throw new ValidationException("Scrierea feedback-ului a fost oprita!");
+        }
+        if (scriitor == null) {
+            pornire();
+        }
+        //firul din fundal goleste coada fara a lua lacatul, deci asteptarea unui loc nu il blocheaza
+        put(feedback);
+        trimise++;
+    }
+
+    /**
+     * Asteapta scrierea feedback-ului pus in coada inainte de apel
+     */
+    @Override
+    public synchronized void flush() {
+        long tinta = trimise;
+        try {
+            while (scrise < tinta && eroare == null) {
+                wait();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ValidationException("Scrierea feedback-ului a fost intrerupta!");
+        }
+        aruncaEroarea();
+    }
+
+    /**
+     * Scrie feedback-ul din coada, opreste firul de executie din fundal si inchide destinatia
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            if (inchis) {
+                return;
+            }
+            inchis = true;
+            thread = scriitor;
+            if (thread != null) {
+                put(SFARSIT);
+            }
+        }
+        if (thread != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(oprire);
+            } catch (IllegalStateException exception) {
+                //aplicatia este deja in curs de oprire
+            }
+            try {
+                thread.join();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            destinatie.close();
+        } catch (RuntimeException exception) {
+            synchronized (this) {
+                eroare = eroare == null ? exception : eroare;
+            }
+        }
+        synchronized (this) {
+            aruncaEroarea();
+        }
+    }
+
+    private void put(Feedback feedback) {
+        try {
+            coada.put(feedback);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ValidationException("Scrierea feedback-ului a fost intrerupta!");
+        }
+    }
+
+    private void pornire() {
+        scriitor = new Thread(this::scrie, "feedback-writer");
+        scriitor.setDaemon(true);
+        scriitor.start();
+        Runtime.getRuntime().addShutdownHook(oprire);
+    }
+
+    /**
+     * Bucla firului de executie din fundal; se opreste dupa ce scrie tot ce a fost pus in coada inainte de SFARSIT
+     */
+    private void scrie() {
+        List<Feedback> lot = new ArrayList<>(LOT);
+        boolean oprit = false;
+        while (!oprit) {
+            try {
+                lot.add(coada.take());
+            } catch (InterruptedException exception) {
+                continue;
+            }
+            coada.drainTo(lot, LOT - lot.size());
+            if (lot.get(lot.size() - 1) == SFARSIT) {
+                lot.remove(lot.size() - 1);
+                oprit = true;
+            }
+            try {
+                lot.forEach(destinatie::write);
+                destinatie.flush();
+            } catch (RuntimeException exception) {
+                synchronized (this) {
+                    eroare = exception;
+                }
+            }
+            synchronized (this) {
+                scrise += lot.size();
+                notifyAll();
+            }
+            lot.clear();
+        }
+    }
+
+    private void aruncaEroarea() {
+        if (eroare != null) {
+            RuntimeException exception = eroare;
+            eroare = null;
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package feedback;
+
+import validation.ValidationException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Scrie feedback-ul fiecarui student in fisierul &lt;nume&gt;.txt din folderul dat. Fisierele sunt tinute deschise
+ * intre scrieri; cand sunt deschise mai mult de maxDeschise, este inchis fisierul folosit cel mai demult.
+ * Nu poate fi folosit din mai multe fire de executie in acelasi timp (vezi FeedbackWriter).
+ */
+public class FileFeedbackSink implements FeedbackSink {
+    private final Path folder;
+    private final Map<String, Writer> deschise;
+
+    /**
+     * Class constructor
+     * @param folder - folderul fisierelor
+     * @param maxDeschise - numarul maxim de fisiere deschise in acelasi timp
+     */
+    public FileFeedbackSink(Path folder, int maxDeschise) {
+        this.folder = folder;
+        this.deschise = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Writer> eldest) {
+                if (size() <= maxDeschise) {
+                    return false;
+                }
+                inchide(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public void write(Feedback feedback) {
+        String filename = feedback.getNumeStudent() + ".txt";
+        try {
+            Writer writer = deschise.get(filename);
+            if (writer == null) {
+                writer = Files.newBufferedWriter(folder.resolve(filename), Charset.defaultCharset(),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                deschise.put(filename, writer);
+            }
+            writer.write(feedback.toString());
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            for (Writer writer : deschise.values()) {
+                writer.flush();
+            }
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        deschise.values().forEach(FileFeedbackSink::inchide);
+        deschise.clear();
+    }
+
+    private static void inchide(Writer writer) {
+        try {
+            writer.close();
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+}
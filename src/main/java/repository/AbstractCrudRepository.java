@@ -1,17 +1,75 @@
 package repository;
 
-import java.util.HashMap;
+import utils.PersistentHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
+/**
+ * Repository in memorie care poate fi folosit din mai multe fire de executie:
+ * citirile nu blocheaza, iar modificarile aceluiasi id sunt serializate printr-un lacat din LOCKS.
+ * Modificarile diferitelor id-uri se fac in paralel. findAll citeste o versiune imutabila (PersistentHashMap),
+ * publicata la sfarsitul fiecarei modificari sau al fiecarui lot.
+ */
 public abstract class AbstractCrudRepository <ID, E extends HasID<ID>> implements CrudRepository<ID, E> {
+    private static final int LOCKS = 64;
+
     private Map<ID, E> elemente;
+    private final Object[] locks;
+    /**
+     * Versiunea vazuta de findAll; nu contine niciodata doar o parte dintr-un lot al firului care o publica
+     */
+    private final AtomicReference<PersistentHashMap<ID, E>> publicat = new AtomicReference<>(PersistentHashMap.empty());
+    /**
+     * Id-urile modificate de lotul in curs al fiecarui fir de executie
+     */
+    private final ThreadLocal<Lot<ID>> loturi = ThreadLocal.withInitial(Lot::new);
+    private final List<RepositoryListener<E>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Lotul in curs al unui fir de executie: adancimea apelurilor applyBatch si id-urile modificate
+     */
+    private static final class Lot<ID> {
+        private int adancime;
+        private final List<ID> ids = new ArrayList<>();
+    }
 
 
     /**
      * Class constructor
      */
     AbstractCrudRepository(){
-        this.elemente = new HashMap<>();
+        this(null);
+    }
+
+    /**
+     * Class constructor
+     * @param index - index secundar actualizat la fiecare modificare, inaintea celorlalti listeneri
+     *              (inclusiv la incarcarea din fisier, care are loc in constructorul subclaselor); poate fi null
+     */
+    AbstractCrudRepository(RepositoryListener<E> index){
+        this.elemente = new ConcurrentHashMap<>();
+        this.locks = new Object[LOCKS];
+        for (int i = 0; i < LOCKS; i++) {
+            this.locks[i] = new Object();
+        }
+        if (index != null) {
+            this.listeners.add(index);
+        }
+    }
+
+    /**
+     * @param id - id-ul unui obiect
+     * @return lacatul care serializeaza modificarile obiectelor cu acest id
+     */
+    protected Object lockFor(ID id) {
+        int h = id.hashCode();
+        return this.locks[(h ^ (h >>> 16)) & (LOCKS - 1)];
     }
 
     /**
@@ -22,16 +80,73 @@ public abstract class AbstractCrudRepository <ID, E extends HasID<ID>> implement
      */
     @Override
     public E findOne(ID id) {
+        if (id == null) {
+            return null;
+        }
         return this.elemente.get(id);
     }
 
     /**
-     *
+     * Intoarce o versiune imutabila a obiectelor, care nu este afectata de modificarile ulterioare.
+     * Versiunea este publicata la sfarsitul fiecarei modificari sau lot (saveAll, deleteAll, updateAll),
+     * deci contine modificarile unui lot fie pe toate, fie pe niciuna; citirea nu blocheaza si nu copiaza,
+     * iar acelasi obiect este intors pana la urmatoarea modificare. Daca doua loturi concurente modifica
+     * acelasi id, versiunea publicata de primul poate contine deja valoarea acelui id scrisa de al doilea.
      * @return toate obiectele
      */
     @Override
     public Iterable<E> findAll() {
-        return this.elemente.values();
+        return this.publicat.get().values();
+    }
+
+    /**
+     * Face mai multe modificari in memorie ca un singur lot: findAll le vede fie pe toate, fie pe niciuna.
+     * @param lot - modificarile
+     * @return rezultatul lotului
+     */
+    protected <T> T applyBatch(Supplier<T> lot) {
+        Lot<ID> curent = loturi.get();
+        curent.adancime++;
+        try {
+            return lot.get();
+        } finally {
+            if (--curent.adancime == 0 && !curent.ids.isEmpty()) {
+                publica(curent.ids);
+                curent.ids.clear();
+            }
+        }
+    }
+
+    /**
+     * Publica pentru findAll valorile curente ale id-urilor modificate de un lot
+     * @param ids - id-urile modificate
+     */
+    private void publica(List<ID> ids) {
+        PersistentHashMap<ID, E> vechi;
+        PersistentHashMap<ID, E> nou;
+        do {
+            vechi = this.publicat.get();
+            nou = vechi;
+            for (ID id : ids) {
+                E entity = this.elemente.get(id);
+                nou = entity == null ? nou.minus(id) : nou.plus(id, entity);
+            }
+        } while (!this.publicat.compareAndSet(vechi, nou));
+    }
+
+    /**
+     * Marcheaza un id ca modificat de lotul in curs, pentru a fi publicat la sfarsitul lotului
+     * @param id - id-ul
+     */
+    private void modificat(ID id) {
+        loturi.get().ids.add(id);
+    }
+
+    /**
+     * @return numarul obiectelor din memorie
+     */
+    protected int size() {
+        return this.elemente.size();
     }
 
     /**
@@ -49,12 +164,24 @@ public abstract class AbstractCrudRepository <ID, E extends HasID<ID>> implement
             }
         }
         */
-        E el = this.findOne(entity.getID());
-        if (el==null){
-            this.elemente.put(entity.getID(), entity);
-            return null;
+        if (entity.getID() == null) {
+            throw new IllegalArgumentException("Id-ul nu poate fi null!");
+        }
+        return applyBatch(() -> saveLocked(entity));
+    }
+
+    private E saveLocked(E entity) {
+        synchronized (lockFor(entity.getID())) {
+            E el = this.findOne(entity.getID());
+            if (el==null){
+                this.elemente.put(entity.getID(), entity);
+                modificat(entity.getID());
+                onSave(entity);
+                listeners.forEach(listener -> listener.onSave(entity));
+                return null;
+            }
+            else return entity;
         }
-        else return entity;
 
     }
 
@@ -66,7 +193,22 @@ public abstract class AbstractCrudRepository <ID, E extends HasID<ID>> implement
      */
     @Override
     public E delete(ID id) {
-        return this.elemente.remove(id);
+        if (id == null) {
+            throw new IllegalArgumentException("Id-ul nu poate fi null!");
+        }
+        return applyBatch(() -> deleteLocked(id));
+    }
+
+    private E deleteLocked(ID id) {
+        synchronized (lockFor(id)) {
+            E entity = this.elemente.remove(id);
+            if (entity != null) {
+                modificat(id);
+                onDelete(entity);
+                listeners.forEach(listener -> listener.onDelete(entity));
+            }
+            return entity;
+        }
     }
 
     /**
@@ -77,10 +219,97 @@ public abstract class AbstractCrudRepository <ID, E extends HasID<ID>> implement
      */
     @Override
     public E update(E entity) {
-        if(this.elemente.get(entity.getID()) == null){
-            return entity;
+        if (entity.getID() == null) {
+            throw new IllegalArgumentException("Id-ul nu poate fi null!");
         }
-        this.elemente.replace(entity.getID(), entity);
-        return null;
+        return applyBatch(() -> updateLocked(entity));
+    }
+
+    private E updateLocked(E entity) {
+        synchronized (lockFor(entity.getID())) {
+            E vechi = this.elemente.get(entity.getID());
+            if(vechi == null){
+                return entity;
+            }
+            this.elemente.replace(entity.getID(), entity);
+            modificat(entity.getID());
+            onUpdate(vechi, entity);
+            listeners.forEach(listener -> listener.onUpdate(vechi, entity));
+            return null;
+        }
+    }
+
+    /**
+     * Inregistreaza un listener notificat dupa fiecare modificare din memorie
+     * @param listener - listener-ul
+     */
+    @Override
+    public void addListener(RepositoryListener<E> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Apelata dupa ce un obiect a fost adaugat in memorie (inclusiv la incarcarea din fisier),
+     * cu lacatul id-ului obiectului luat
+     * @param entity - obiectul adaugat
+     */
+    protected void onSave(E entity) {
+    }
+
+    /**
+     * Apelata dupa ce un obiect a fost sters din memorie
+     * @param entity - obiectul sters
+     */
+    protected void onDelete(E entity) {
+    }
+
+    /**
+     * Apelata dupa ce un obiect a fost inlocuit in memorie
+     * @param vechi - obiectul inlocuit
+     * @param nou - noul obiect
+     */
+    protected void onUpdate(E vechi, E nou) {
+    }
+
+    /**
+     * Salveaza mai multe obiecte
+     * @param entities - obiectele pe care le salveaza
+     * @return pentru fiecare obiect, in ordine, rezultatul lui save
+     */
+    @Override
+    public List<E> saveAll(Iterable<E> entities) {
+        return applyBatch(() -> {
+            List<E> rezultate = new ArrayList<>();
+            entities.forEach(entity -> rezultate.add(save(entity)));
+            return rezultate;
+        });
+    }
+
+    /**
+     * Sterge mai multe obiecte
+     * @param ids - id-urile obiectelor
+     * @return pentru fiecare id, in ordine, obiectul sters sau null
+     */
+    @Override
+    public List<E> deleteAll(Iterable<ID> ids) {
+        return applyBatch(() -> {
+            List<E> rezultate = new ArrayList<>();
+            ids.forEach(id -> rezultate.add(delete(id)));
+            return rezultate;
+        });
+    }
+
+    /**
+     * Modifica mai multe obiecte
+     * @param entities - noile obiecte
+     * @return pentru fiecare obiect, in ordine, rezultatul lui update
+     */
+    @Override
+    public List<E> updateAll(Iterable<E> entities) {
+        return applyBatch(() -> {
+            List<E> rezultate = new ArrayList<>();
+            entities.forEach(entity -> rezultate.add(update(entity)));
+            return rezultate;
+        });
     }
 }
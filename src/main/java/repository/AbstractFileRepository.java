@@ -2,67 +2,339 @@ package repository;
 
 import validation.ValidationException;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 public abstract class AbstractFileRepository<ID, E extends HasID<ID>> extends AbstractCrudRepository<ID, E> implements FileRepository<ID, E> {
 
+    /**
+     * Marcajul liniilor care anunta stergerea unui obiect (in modul log). Aceste linii incep cu un camp gol,
+     * pe care id-ul unui obiect nu il poate avea, urmat de campul marcajului si de obiectul sters.
+     */
+    private static final String STERS = "~";
+
+    /**
+     * Dimensiunea maxima a unei zone din fisier mapate in memorie la incarcare
+     */
+    private static final int FEREASTRA = 1 << 30;
+
+    private enum Operatie { SALVARE, MODIFICARE, STERGERE }
+
     private String filename;
+    private boolean logMode;
+    private double pragCompactare;
+    private int inregistrariFisier;
+    private boolean compactarePlanificata;
+    private ExecutorService compactor;
+    private RuntimeException eroareCompactare;
+    private volatile WriteBehindScheduler writeBehind;
 
     /**
      * Class constructor
      * @param filename - numele fisierului
      */
     AbstractFileRepository(String filename) {
+        this(filename, null);
+    }
+
+    /**
+     * Class constructor
+     * @param filename - numele fisierului
+     * @param index - index secundar, completat inca de la incarcarea fisierului; poate fi null
+     */
+    AbstractFileRepository(String filename, RepositoryListener<E> index) {
+        super(index);
         this.filename = filename;
         loadFromFile();
     }
 
+    /**
+     * Extrage un obiect din campurile unei linii
+     * @param linie - cursorul peste campurile liniei
+     * @return - obiectul
+     */
+    public abstract E extractEntity(LinieCSV linie);
+
     /**
      * Extrage un obiect dintr-un String
      * @param linie - String-ul din care extrage obiectul
      * @return - obiectul
      */
-    public abstract E extractEntity(String linie);
+    public E extractEntity(String linie) {
+        return extractEntity(new LinieCSV(linie));
+    }
 
     /**
-     * Incarca datele din fisier
+     * Incarca datele din fisier. Fiecare linie este ultima versiune a unui obiect, iar liniile cu marcajul
+     * STERS anunta stergerea obiectului. Fisierul poate fi scris in modul log, care nu este cunoscut la
+     * incarcare, deci intotdeauna ultima linie a unui id este cea valabila.
+     * Fisierul este mapat in memorie, iar campurile sunt citite direct din octeti.
      */
     public void loadFromFile(){
-        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(filename))) {
-            String linie;
-            while ((linie = bufferedReader.readLine()) != null) {
-                E entity = extractEntity(linie);
-                super.save(entity);
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long dimensiune = channel.size();
+            long inceput = 0;
+            while (inceput < dimensiune) {
+                int lungime = (int) Math.min(FEREASTRA, dimensiune - inceput);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, inceput, lungime);
+                boolean ultima = inceput + lungime == dimensiune;
+                int citit = loadLines(buffer, lungime, ultima);
+                if (citit == 0) {
+                    throw new IOException("Linie prea lunga in fisierul " + filename);
+                }
+                inceput += citit;
             }
         } catch (IOException exception) {
             throw new ValidationException(exception.getMessage());
         }
     }
 
+    /**
+     * Incarca liniile complete dintr-o zona a fisierului; zonele mai mari decat o bucata
+     * sunt parsate in paralel (vezi ParallelLoader)
+     * @param buffer - zona mapata
+     * @param lungime - numarul de octeti din zona
+     * @param ultima - true daca zona se termina la sfarsitul fisierului
+     * @return numarul de octeti consumati (pana dupa ultima linie completa)
+     */
+    private int loadLines(MappedByteBuffer buffer, int lungime, boolean ultima) {
+        int capat = ultima ? lungime : dupaUltimaLinie(buffer, lungime);
+        int[] limite = ParallelLoader.imparte(0, capat, pozitie -> dupaLinie(buffer, pozitie, capat));
+        if (limite.length <= 2) {
+            parseLines(buffer, 0, capat, this::loadRecord);
+            return capat;
+        }
+        List<List<Inregistrare<E>>> bucati = ParallelLoader.parse(limite, (inceput, sfarsit) -> {
+            List<Inregistrare<E>> inregistrari = new ArrayList<>();
+            parseLines(buffer.duplicate(), inceput, sfarsit, (entity, sters) -> inregistrari.add(new Inregistrare<>(entity, sters)));
+            return inregistrari;
+        });
+        for (List<Inregistrare<E>> inregistrari : bucati) {
+            for (Inregistrare<E> inregistrare : inregistrari) {
+                loadRecord(inregistrare.entity, inregistrare.sters);
+            }
+        }
+        return capat;
+    }
+
+    /**
+     * Parseaza liniile dintre doua pozitii
+     * @param buffer - octetii
+     * @param inceput - inceputul primei linii
+     * @param sfarsit - pozitia de dupa ultima linie
+     * @param destinatie - primeste fiecare obiect si daca linia marcheaza stergerea lui
+     */
+    private void parseLines(ByteBuffer buffer, int inceput, int sfarsit, BiConsumer<E, Boolean> destinatie) {
+        LinieCSV linie = new LinieCSV();
+        while (inceput < sfarsit) {
+            int i = inceput;
+            while (i < sfarsit && buffer.get(i) != '\n') {
+                i++;
+            }
+            int capat = i > inceput && buffer.get(i - 1) == '\r' ? i - 1 : i;
+            if (capat > inceput) {
+                linie.reset(buffer, inceput, capat);
+                boolean sters = linie.startsWith(',');
+                if (sters) {
+                    linie.skip(1);
+                    if (!linie.nextString().equals(STERS)) {
+                        throw new ValidationException("Linie necunoscuta in fisierul " + filename);
+                    }
+                }
+                destinatie.accept(extractEntity(linie), sters);
+            }
+            inceput = i + 1;
+        }
+    }
+
+    private void loadRecord(E entity, boolean sters) {
+        if (sters) {
+            super.delete(entity.getID());
+        } else if (super.save(entity) != null) {
+            super.update(entity);
+        }
+        inregistrariFisier++;
+    }
+
+    private static int dupaLinie(ByteBuffer buffer, int pozitie, int sfarsit) {
+        while (pozitie < sfarsit && buffer.get(pozitie - 1) != '\n') {
+            pozitie++;
+        }
+        return pozitie;
+    }
+
+    private static int dupaUltimaLinie(ByteBuffer buffer, int lungime) {
+        int pozitie = lungime;
+        while (pozitie > 0 && buffer.get(pozitie - 1) != '\n') {
+            pozitie--;
+        }
+        return pozitie;
+    }
+
+    /**
+     * O linie parsata in paralel, aplicata ulterior in ordinea din fisier
+     */
+    private static final class Inregistrare<E> {
+        private final E entity;
+        private final boolean sters;
+
+        Inregistrare(E entity, boolean sters) {
+            this.entity = entity;
+            this.sters = sters;
+        }
+    }
+
+    /**
+     * Activeaza modul log: stergerile si modificarile adauga cate o linie la sfarsitul fisierului in loc sa il rescrie.
+     * Fisierul este compactat in fundal cand proportia liniilor invechite depaseste pragul dat.
+     * @param pragCompactare - proportia liniilor invechite (intre 0 si 1) peste care se face compactarea
+     */
+    public synchronized void enableLogMode(double pragCompactare) {
+        if (pragCompactare <= 0 || pragCompactare >= 1) {
+            throw new ValidationException("Pragul de compactare trebuie sa fie intre 0 si 1!");
+        }
+        this.logMode = true;
+        this.pragCompactare = pragCompactare;
+    }
+
+    /**
+     * Dezactiveaza modul log si compacteaza fisierul
+     */
+    public synchronized void disableLogMode() {
+        this.logMode = false;
+        compact();
+    }
+
+    /**
+     * Activeaza persistarea amanata: modificarile sunt facute doar in memorie, iar un fir de executie din fundal
+     * rescrie fisierul o singura data pentru toate modificarile adunate intr-un interval sau intr-un lot.
+     * Are prioritate fata de modul log; flush() asteapta scrierea modificarilor facute pana atunci.
+     * @param intervalMillis - intervalul maxim, in milisecunde, dintre o modificare si scrierea ei
+     * @param batchSize - numarul de modificari dupa care fisierul este rescris fara a astepta intervalul
+     */
+    public synchronized void enableWriteBehind(long intervalMillis, int batchSize) {
+        if (intervalMillis < 1 || batchSize < 1) {
+            throw new ValidationException("Intervalul si dimensiunea lotului trebuie sa fie pozitive!");
+        }
+        if (writeBehind == null) {
+            writeBehind = new WriteBehindScheduler("scriere-" + filename, this::writeToFile, intervalMillis, batchSize);
+        }
+    }
+
+    /**
+     * Scrie in fisier modificarile in asteptare (in modul cu persistare amanata)
+     */
+    @Override
+    public void flush() {
+        WriteBehindScheduler scheduler = writeBehind;
+        if (scheduler != null) {
+            scheduler.flush();
+        }
+    }
+
+    /**
+     * Scrie modificarile in asteptare si opreste firele de executie din fundal
+     * @throws ValidationException daca ultima compactare din fundal nu a reusit
+     */
+    @Override
+    public void close() {
+        WriteBehindScheduler scheduler;
+        ExecutorService compactare;
+        synchronized (this) {
+            scheduler = writeBehind;
+            writeBehind = null;
+            compactare = compactor;
+            compactor = null;
+        }
+        if (compactare != null) {
+            //compactarea planificata se termina inainte de inchidere (are nevoie de lacatul repository-ului)
+            compactare.shutdown();
+            try {
+                compactare.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (scheduler != null) {
+            scheduler.close();
+        }
+        RuntimeException eroare;
+        synchronized (this) {
+            eroare = eroareCompactare;
+            eroareCompactare = null;
+        }
+        if (eroare != null) {
+            throw eroare;
+        }
+    }
+
+    /**
+     * Rescrie fisierul doar cu ultima versiune a fiecarui obiect
+     */
+    public void compact() {
+        writeToFile();
+    }
+
     /**
      * Scrie un obiect nou in fisier
      * @param entity - obiectul pe care il scrie
      */
     public void saveToFile(E entity){
+        appendToFile("", List.of(entity));
+    }
+
+    /**
+     * Adauga cate o linie pentru fiecare obiect la sfarsitul fisierului, deschizandu-l o singura data
+     * @param prefix - prefixul liniilor
+     * @param entities - obiectele pe care le scrie
+     */
+    private synchronized void appendToFile(String prefix, List<E> entities){
         try (BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(filename, true))) {
-            bufferedWriter.write(entity.toString());
-            bufferedWriter.newLine();
+            for (E entity : entities) {
+                bufferedWriter.write(prefix + entity.toString());
+                bufferedWriter.newLine();
+            }
         } catch (IOException exception) {
             throw new ValidationException(exception.getMessage());
         }
+        inregistrariFisier += entities.size();
     }
 
     /**
      * Rescrie fisierul cu toate obiectele din memorie
      */
-    public void writeToFile(){
-        try (PrintWriter b = new PrintWriter(this.filename)) {
+    public synchronized void writeToFile(){
+        Path temporar = Paths.get(filename + ".tmp");
+        try (FileOutputStream fileOutputStream = new FileOutputStream(temporar.toFile());
+             PrintWriter b = new PrintWriter(new BufferedWriter(new OutputStreamWriter(fileOutputStream)))) {
             //Iterable<E> all = super.findAll();
             super.findAll().forEach(e -> b.println(e.toString()));
+            if (b.checkError()) {
+                throw new IOException("Eroare la scrierea fisierului " + filename);
+            }
+            fileOutputStream.getFD().sync();
         }
             catch (IOException exception) {
             throw new ValidationException(exception.getMessage());
         }
-
+        try {
+            Files.move(temporar, Paths.get(filename), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+        inregistrariFisier = size();
     }
 
     /**
@@ -71,10 +343,10 @@ public abstract class AbstractFileRepository<ID, E extends HasID<ID>> extends Ab
      * @return null daca obiectul s-a salvat cu succes sau obiectul daca acesta exista deja in memorie
      */
     @Override
-    public E save(E entity) {
+    public synchronized E save(E entity) {
         E entity1 = super.save(entity);
         if (entity1 == null) {
-            saveToFile(entity);
+            persist(Operatie.SALVARE, List.of(entity));
         }
 
         return entity1;
@@ -86,10 +358,10 @@ public abstract class AbstractFileRepository<ID, E extends HasID<ID>> extends Ab
      * @return obiectul daca s-a reusit stergerea sau null daca obiectul nu exista
      */
     @Override
-    public E delete(ID id) {
+    public synchronized E delete(ID id) {
         E entity = super.delete(id);
         if(entity != null){
-            writeToFile();
+            persist(Operatie.STERGERE, List.of(entity));
         }
         return entity;
     }
@@ -100,11 +372,141 @@ public abstract class AbstractFileRepository<ID, E extends HasID<ID>> extends Ab
      * @return null daca obiectul a fost modificat sau obiectul, daca acesta nu exista
      */
     @Override
-    public E update(E entity) {
+    public synchronized E update(E entity) {
         E entity1 = super.update(entity);
-        if(entity == null){
-            writeToFile();
+        if(entity1 == null){
+            persist(Operatie.MODIFICARE, List.of(entity));
         }
         return entity1;
     }
+
+    /**
+     * Salveaza mai multe obiecte, scriindu-le in fisier o singura data
+     * @param entities - obiectele pe care le salveaza
+     * @return pentru fiecare obiect, in ordine, null daca s-a salvat sau obiectul daca exista deja
+     */
+    @Override
+    public synchronized List<E> saveAll(Iterable<E> entities) {
+        List<E> rezultate = new ArrayList<>();
+        List<E> salvate = new ArrayList<>();
+        applyBatch(() -> {
+            for (E entity : entities) {
+                E entity1 = super.save(entity);
+                rezultate.add(entity1);
+                if (entity1 == null) {
+                    salvate.add(entity);
+                }
+            }
+            return null;
+        });
+        persist(Operatie.SALVARE, salvate);
+        return rezultate;
+    }
+
+    /**
+     * Sterge mai multe obiecte, persistand stergerile o singura data
+     * @param ids - id-urile obiectelor
+     * @return pentru fiecare id, in ordine, obiectul sters sau null daca nu exista
+     */
+    @Override
+    public synchronized List<E> deleteAll(Iterable<ID> ids) {
+        List<E> rezultate = new ArrayList<>();
+        List<E> sterse = new ArrayList<>();
+        applyBatch(() -> {
+            for (ID id : ids) {
+                E entity = super.delete(id);
+                rezultate.add(entity);
+                if (entity != null) {
+                    sterse.add(entity);
+                }
+            }
+            return null;
+        });
+        persist(Operatie.STERGERE, sterse);
+        return rezultate;
+    }
+
+    /**
+     * Modifica mai multe obiecte, persistand modificarile o singura data
+     * @param entities - noile obiecte
+     * @return pentru fiecare obiect, in ordine, null daca a fost modificat sau obiectul daca nu exista
+     */
+    @Override
+    public synchronized List<E> updateAll(Iterable<E> entities) {
+        List<E> rezultate = new ArrayList<>();
+        List<E> modificate = new ArrayList<>();
+        applyBatch(() -> {
+            for (E entity : entities) {
+                E entity1 = super.update(entity);
+                rezultate.add(entity1);
+                if (entity1 == null) {
+                    modificate.add(entity);
+                }
+            }
+            return null;
+        });
+        persist(Operatie.MODIFICARE, modificate);
+        return rezultate;
+    }
+
+    /**
+     * Persista adaugari, stergeri sau modificari: in modul cu persistare amanata doar le inregistreaza;
+     * adaugarile si, in modul log, stergerile si modificarile sunt scrise la sfarsitul fisierului;
+     * altfel fisierul este rescris
+     * @param operatie - tipul modificarii
+     * @param entities - obiectele adaugate, sterse sau modificate
+     */
+    private void persist(Operatie operatie, List<E> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        if (writeBehind != null) {
+            writeBehind.markDirty(entities.size());
+            return;
+        }
+        if (operatie == Operatie.SALVARE) {
+            appendToFile("", entities);
+            return;
+        }
+        if (!logMode) {
+            writeToFile();
+            return;
+        }
+        String prefix = operatie == Operatie.STERGERE ? "," + STERS + "," : "";
+        appendToFile(prefix, entities);
+        double invechite = inregistrariFisier - size();
+        if (!compactarePlanificata && invechite / inregistrariFisier > pragCompactare) {
+            compactarePlanificata = true;
+            compactor().execute(this::compacteazaInFundal);
+        }
+    }
+
+    /**
+     * Compactarea din fundal: o eroare este afisata si retinuta pentru close, iar compactarea este
+     * planificata din nou la urmatoarea modificare
+     */
+    private synchronized void compacteazaInFundal() {
+        compactarePlanificata = false;
+        try {
+            compact();
+            eroareCompactare = null;
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            eroareCompactare = e;
+        }
+    }
+
+    /**
+     * @return firul de executie pe care se face compactarea in fundal
+     */
+    private ExecutorService compactor() {
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "compactare-" + filename);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return compactor;
+    }
 }
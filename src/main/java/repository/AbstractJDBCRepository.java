@@ -0,0 +1,371 @@
+package repository;
+
+import validation.ValidationException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Repository memorat intr-o baza de date SQL incorporata (de exemplu H2 in fisier, "jdbc:h2:./fisiere/laborator").
+ * Fiecare repository are propria conexiune, iar instructiunile sunt pregatite o singura data si refolosite;
+ * operatiile pe mai multe obiecte sunt trimise intr-un singur lot, intr-o singura tranzactie.
+ */
+public abstract class AbstractJDBCRepository<ID, E extends HasID<ID>> implements CrudRepository<ID, E> {
+
+    /**
+     * Codul SQLState pentru incalcarea unei chei unice
+     */
+    private static final String CHEIE_DUPLICATA = "23505";
+
+    private final Connection connection;
+    private final int numarColoane;
+    private final PreparedStatement selectOne;
+    private final PreparedStatement selectAll;
+    private final PreparedStatement selectIds;
+    private final PreparedStatement insert;
+    private final PreparedStatement update;
+    private final PreparedStatement delete;
+    private final List<RepositoryListener<E>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Class constructor
+     * @param url - adresa JDBC a bazei de date
+     * @param tabel - numele tabelului
+     * @param coloanaId - coloana care memoreaza id-ul
+     * @param coloane - celelalte coloane, in ordinea in care le completeaza writeEntity
+     * @param schema - instructiunile care creeaza tabelul si indecsii, daca nu exista
+     */
+    AbstractJDBCRepository(String url, String tabel, String coloanaId, String[] coloane, String... schema) {
+        this.numarColoane = coloane.length;
+        try {
+            connection = DriverManager.getConnection(url);
+            try (Statement statement = connection.createStatement()) {
+                for (String instructiune : schema) {
+                    statement.execute(instructiune);
+                }
+            }
+            String lista = String.join(", ", coloane);
+            selectOne = connection.prepareStatement("SELECT * FROM " + tabel + " WHERE " + coloanaId + " = ?");
+            selectAll = connection.prepareStatement("SELECT * FROM " + tabel);
+            selectIds = connection.prepareStatement("SELECT * FROM " + tabel + " WHERE " + coloanaId + " = ANY(?)");
+            insert = connection.prepareStatement("INSERT INTO " + tabel + " (" + lista + ", " + coloanaId + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(coloane.length + 1, "?")) + ")");
+            update = connection.prepareStatement("UPDATE " + tabel + " SET " + String.join(" = ?, ", coloane)
+                    + " = ? WHERE " + coloanaId + " = ?");
+            delete = connection.prepareStatement("DELETE FROM " + tabel + " WHERE " + coloanaId + " = ?");
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Extrage un obiect din randul curent
+     * @param resultSet - rezultatul, pozitionat pe rand
+     * @return - obiectul
+     */
+    public abstract E extractEntity(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Completeaza parametrii 1..n ai unei instructiuni cu valorile coloanelor unui obiect (fara id)
+     * @param statement - instructiunea
+     * @param entity - obiectul
+     */
+    public abstract void writeEntity(PreparedStatement statement, E entity) throws SQLException;
+
+    /**
+     * @param id - id-ul obiectului
+     * @return obiectul sau null daca nu exista
+     */
+    @Override
+    public synchronized E findOne(ID id) {
+        if (id == null) {
+            return null;
+        }
+        List<E> rezultat = query(selectOne, id);
+        return rezultat.isEmpty() ? null : rezultat.get(0);
+    }
+
+    /**
+     * @return toate obiectele existente in momentul apelului
+     */
+    @Override
+    public synchronized Iterable<E> findAll() {
+        return query(selectAll);
+    }
+
+    /**
+     * Salveaza un obiect
+     * @param entity - obiectul pe care il salveaza
+     * @return null daca obiectul s-a salvat cu succes sau obiectul daca acesta exista deja
+     */
+    @Override
+    public synchronized E save(E entity) {
+        if (entity.getID() == null) {
+            throw new IllegalArgumentException("Id-ul nu poate fi null!");
+        }
+        try {
+            bind(insert, entity);
+            insert.executeUpdate();
+            listeners.forEach(listener -> listener.onSave(entity));
+            return null;
+        } catch (SQLException exception) {
+            if (CHEIE_DUPLICATA.equals(exception.getSQLState())) {
+                return entity;
+            }
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Sterge un obiect
+     * @param id - id-ul obiectului
+     * @return obiectul daca s-a reusit stergerea sau null daca obiectul nu exista
+     */
+    @Override
+    public synchronized E delete(ID id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id-ul nu poate fi null!");
+        }
+        E entity = findOne(id);
+        if (entity != null) {
+            try {
+                delete.setObject(1, id);
+                delete.executeUpdate();
+            } catch (SQLException exception) {
+                throw new ValidationException(exception.getMessage());
+            }
+            listeners.forEach(listener -> listener.onDelete(entity));
+        }
+        return entity;
+    }
+
+    /**
+     * Modifica un obiect
+     * @param entity - noul obiect
+     * @return null daca obiectul a fost modificat sau obiectul, daca acesta nu exista
+     */
+    @Override
+    public synchronized E update(E entity) {
+        E vechi = listeners.isEmpty() ? null : findOne(entity.getID());
+        try {
+            bind(update, entity);
+            if (update.executeUpdate() == 0) {
+                return entity;
+            }
+            listeners.forEach(listener -> listener.onUpdate(vechi, entity));
+            return null;
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Salveaza mai multe obiecte intr-un singur lot
+     * @param entities - obiectele pe care le salveaza
+     * @return pentru fiecare obiect, in ordine, null daca s-a salvat sau obiectul daca exista deja
+     */
+    @Override
+    public synchronized List<E> saveAll(Iterable<E> entities) {
+        List<E> lista = new ArrayList<>();
+        entities.forEach(lista::add);
+        Set<ID> ids = new LinkedHashSet<>();
+        for (E entity : lista) {
+            if (entity.getID() == null) {
+                throw new IllegalArgumentException("Id-ul nu poate fi null!");
+            }
+            ids.add(entity.getID());
+        }
+        Set<ID> existente = new LinkedHashSet<>(existing(ids).keySet());
+        List<E> rezultate = new ArrayList<>();
+        inTransaction(() -> {
+            for (E entity : lista) {
+                if (existente.add(entity.getID())) {
+                    bind(insert, entity);
+                    insert.addBatch();
+                    rezultate.add(null);
+                } else {
+                    rezultate.add(entity);
+                }
+            }
+            insert.executeBatch();
+        });
+        for (int i = 0; i < lista.size(); i++) {
+            if (rezultate.get(i) == null) {
+                E entity = lista.get(i);
+                listeners.forEach(listener -> listener.onSave(entity));
+            }
+        }
+        return rezultate;
+    }
+
+    /**
+     * Sterge mai multe obiecte intr-un singur lot
+     * @param ids - id-urile obiectelor
+     * @return pentru fiecare id, in ordine, obiectul sters sau null daca nu exista
+     */
+    @Override
+    public synchronized List<E> deleteAll(Iterable<ID> ids) {
+        List<ID> lista = new ArrayList<>();
+        ids.forEach(lista::add);
+        if (lista.contains(null)) {
+            throw new IllegalArgumentException("Id-ul nu poate fi null!");
+        }
+        Map<ID, E> existente = existing(lista);
+        List<E> rezultate = new ArrayList<>();
+        inTransaction(() -> {
+            for (ID id : lista) {
+                E entity = existente.remove(id);
+                rezultate.add(entity);
+                if (entity != null) {
+                    delete.setObject(1, id);
+                    delete.addBatch();
+                }
+            }
+            delete.executeBatch();
+        });
+        for (E entity : rezultate) {
+            if (entity != null) {
+                listeners.forEach(listener -> listener.onDelete(entity));
+            }
+        }
+        return rezultate;
+    }
+
+    /**
+     * Modifica mai multe obiecte intr-un singur lot
+     * @param entities - noile obiecte
+     * @return pentru fiecare obiect, in ordine, null daca a fost modificat sau obiectul daca nu exista
+     */
+    @Override
+    public synchronized List<E> updateAll(Iterable<E> entities) {
+        List<E> lista = new ArrayList<>();
+        entities.forEach(lista::add);
+        List<ID> ids = new ArrayList<>();
+        lista.forEach(entity -> ids.add(entity.getID()));
+        Map<ID, E> existente = existing(ids);
+        List<E> rezultate = new ArrayList<>();
+        inTransaction(() -> {
+            for (E entity : lista) {
+                if (existente.containsKey(entity.getID())) {
+                    bind(update, entity);
+                    update.addBatch();
+                    rezultate.add(null);
+                } else {
+                    rezultate.add(entity);
+                }
+            }
+            update.executeBatch();
+        });
+        for (int i = 0; i < lista.size(); i++) {
+            if (rezultate.get(i) == null) {
+                E entity = lista.get(i);
+                E vechi = existente.get(entity.getID());
+                listeners.forEach(listener -> listener.onUpdate(vechi, entity));
+            }
+        }
+        return rezultate;
+    }
+
+    /**
+     * Inregistreaza un listener notificat dupa fiecare modificare scrisa in baza de date
+     * @param listener - listener-ul
+     */
+    @Override
+    public void addListener(RepositoryListener<E> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Inchide conexiunea la baza de date
+     */
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Pregateste o instructiune pe conexiunea repository-ului, pentru a fi refolosita
+     * @param sql - instructiunea
+     * @return instructiunea pregatita
+     */
+    protected PreparedStatement prepare(String sql) {
+        try {
+            return connection.prepareStatement(sql);
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Executa o interogare pregatita
+     * @param statement - interogarea
+     * @param parametri - valorile parametrilor, in ordine
+     * @return obiectele din rezultat
+     */
+    protected synchronized List<E> query(PreparedStatement statement, Object... parametri) {
+        try {
+            for (int i = 0; i < parametri.length; i++) {
+                statement.setObject(i + 1, parametri[i]);
+            }
+            List<E> rezultat = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rezultat.add(extractEntity(resultSet));
+                }
+            }
+            return rezultat;
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    private Map<ID, E> existing(Collection<ID> ids) {
+        Map<ID, E> existente = new HashMap<>();
+        if (!ids.isEmpty()) {
+            query(selectIds, (Object) ids.toArray()).forEach(entity -> existente.put(entity.getID(), entity));
+        }
+        return existente;
+    }
+
+    private void bind(PreparedStatement statement, E entity) throws SQLException {
+        writeEntity(statement, entity);
+        statement.setObject(numarColoane + 1, entity.getID());
+    }
+
+    private void inTransaction(Operatie operatie) {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                operatie.run();
+                connection.commit();
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    private interface Operatie {
+        void run() throws SQLException;
+    }
+}
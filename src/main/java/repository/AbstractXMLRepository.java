@@ -1,21 +1,53 @@
 package repository;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import validation.ValidationException;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 
 public abstract class AbstractXMLRepository<ID, E extends HasID<ID>> extends AbstractCrudRepository<ID, E> implements FileRepository<ID, E> {
 
+    private static final String SALVARE = "S";
+    private static final String MODIFICARE = "U";
+    private static final String STERGERE = "D";
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] INCEPUT_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<inbox>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INDENTARE = "\n    ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SFARSIT_XML = "\n</inbox>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RADACINA_BUCATA = "<inbox>".getBytes(StandardCharsets.UTF_8);
+
     private String filename;
-    private DocumentBuilderFactory builderFactory;
+    private String journalFilename;
+    private String snapshotFilename;
+    private boolean snapshot;
+    private boolean snapshotValid;
+    private XMLInputFactory inputFactory;
+    private XMLOutputFactory outputFactory;
+    private boolean journal;
+    private int checkpointInterval;
+    private int inregistrariJurnal;
+    private volatile WriteBehindScheduler writeBehind;
+    private Map<ID, byte[]> fragmente;
 
     /**
      * Class constructor
@@ -23,57 +55,396 @@ public abstract class AbstractXMLRepository<ID, E extends HasID<ID>> extends Abs
      * @param filename - numele fisierului
      */
     AbstractXMLRepository(String filename) {
+        this(filename, null);
+    }
+
+    /**
+     * Class constructor
+     *
+     * @param filename - numele fisierului
+     * @param index    - index secundar, completat inca de la incarcarea fisierului; poate fi null
+     */
+    AbstractXMLRepository(String filename, RepositoryListener<E> index) {
+        super(index);
         this.filename = filename;
-        builderFactory = DocumentBuilderFactory.newInstance();
+        this.journalFilename = filename + ".journal";
+        this.snapshotFilename = filename + ".snap";
+        inputFactory = XMLInputFactory.newInstance();
+        outputFactory = XMLOutputFactory.newInstance();
         loadFromFile();
 
     }
 
 
     /**
-     * Incarca datele din fisier
+     * Incarca datele din copia binara, daca aceasta exista si corespunde fisierului XML, altfel din fisierul XML,
+     * apoi reaplica modificarile din jurnal (daca exista).
+     * Fisierul XML este citit secvential (StAX), fara a construi arborele DOM; fisierele mari sunt
+     * impartite in bucati parsate in paralel. Un fisier inexistent este considerat gol.
+     * @throws ValidationException daca fisierul XML nu poate fi citit sau contine un obiect invalid
      */
     public void loadFromFile() {
         try {
-            Document document = DocumentBuilderFactory
-                    .newInstance()
-                    .newDocumentBuilder()
-                    .parse(this.filename);
-
-            Element root = document.getDocumentElement();
-            NodeList children = root.getChildNodes();
-            for (int i = 0; i < children.getLength(); i++) {
-                Node entityElement = children.item(i);
-                if (entityElement.getNodeType() == Node.ELEMENT_NODE) {
-                    E entity = extractEntity((Element) entityElement);
-                    super.save(entity);
-                }
-            }
+            snapshotValid = BinarySnapshot.read(Paths.get(snapshotFilename), Paths.get(filename), this::readBinary, super::save);
         } catch (Exception e) {
             e.printStackTrace();
         }
+        if (snapshotValid) {
+            replayJournal();
+            return;
+        }
+        if (Files.exists(Paths.get(filename))) {
+            try {
+                if (!loadParallel()) {
+                    try (InputStream inputStream = new BufferedInputStream(new FileInputStream(this.filename))) {
+                        loadEntities(inputFactory.createXMLStreamReader(inputStream), super::save);
+                    }
+                }
+            } catch (ValidationException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ValidationException("Fisierul " + filename + " nu poate fi incarcat: " + e.getMessage());
+            }
+        }
+        replayJournal();
+    }
 
+    /**
+     * Citeste elementele copil ale radacinii documentului ca obiecte
+     *
+     * @param reader     - cititorul, pozitionat la inceputul documentului
+     * @param destinatie - primeste obiectele, in ordinea din document
+     */
+    private void loadEntities(XMLStreamReader reader, Consumer<E> destinatie) throws XMLStreamException {
+        try {
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (depth == 1) {
+                        destinatie.accept(extractEntity(readFields(reader)));
+                    } else {
+                        depth++;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        } finally {
+            reader.close();
+        }
     }
 
     /**
-     * Creeaza un elemenT XML dintr o  entitate
+     * Incarca in paralel fisierele mai mari decat o bucata (vezi ParallelLoader): fisierul este mapat in memorie
+     * si impartit la inceputul elementelor copil ale radacinii, fiecare bucata este parsata ca document separat,
+     * iar obiectele sunt adaugate apoi in ordinea din fisier.
      *
-     * @param document
-     * @param entity
-     * @return
+     * @return false daca fisierul este prea mic sau structura lui nu permite impartirea
      */
+    private boolean loadParallel() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long dimensiune = channel.size();
+            if (dimensiune < 2L * ParallelLoader.marimeBucata() || dimensiune > Integer.MAX_VALUE) {
+                return false;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, dimensiune);
+            int radacina = urmatorulElement(buffer, 0, (int) dimensiune);
+            int primul = radacina < 0 ? -1 : urmatorulElement(buffer, radacina + 1, (int) dimensiune);
+            int sfarsit = (int) dimensiune - 1;
+            while (sfarsit > 0 && buffer.get(sfarsit) != '<') {
+                sfarsit--;
+            }
+            if (primul < 0 || primul >= sfarsit || buffer.get(sfarsit + 1) != '/') {
+                return false;
+            }
+            byte[] nume = numeElement(buffer, primul);
+            int capat = sfarsit;
+            int[] limite = ParallelLoader.imparte(primul, sfarsit, pozitie -> inceputElement(buffer, nume, pozitie, capat));
+            if (limite.length <= 2) {
+                return false;
+            }
+            List<List<E>> bucati = ParallelLoader.parse(limite, (inceput, sf) -> parseChunk(buffer.duplicate(), inceput, sf));
+            bucati.forEach(entities -> entities.forEach(super::save));
+            return true;
+        }
+    }
+
+    /**
+     * Parseaza o bucata din fisier, inchisa intr-un element radacina
+     */
+    private List<E> parseChunk(ByteBuffer buffer, int inceput, int sfarsit) {
+        byte[] document = new byte[sfarsit - inceput + RADACINA_BUCATA.length * 2 + 1];
+        System.arraycopy(RADACINA_BUCATA, 0, document, 0, RADACINA_BUCATA.length);
+        buffer.position(inceput);
+        buffer.get(document, RADACINA_BUCATA.length, sfarsit - inceput);
+        int pozitie = RADACINA_BUCATA.length + sfarsit - inceput;
+        document[pozitie++] = '<';
+        document[pozitie++] = '/';
+        System.arraycopy(RADACINA_BUCATA, 1, document, pozitie, RADACINA_BUCATA.length - 1);
+        List<E> entities = new ArrayList<>();
+        try {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            loadEntities(factory.createXMLStreamReader(new ByteArrayInputStream(document), "UTF-8"), entities::add);
+        } catch (XMLStreamException e) {
+            throw new ValidationException(e.getMessage());
+        }
+        return entities;
+    }
+
+    /**
+     * @return pozitia primului tag de deschidere (nu declaratie, comentariu sau tag de inchidere) de la pozitia data, sau -1
+     */
+    private static int urmatorulElement(ByteBuffer buffer, int pozitie, int sfarsit) {
+        for (int i = pozitie; i + 1 < sfarsit; i++) {
+            if (buffer.get(i) == '<') {
+                byte urmator = buffer.get(i + 1);
+                if (urmator != '?' && urmator != '!' && urmator != '/') {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
 
-    public abstract Element createElementfromEntity(Document document, E entity);
+    private static byte[] numeElement(ByteBuffer buffer, int pozitie) {
+        int sfarsit = pozitie + 1;
+        while (!sfarsitNume(buffer.get(sfarsit))) {
+            sfarsit++;
+        }
+        byte[] nume = new byte[sfarsit - pozitie];
+        for (int i = 0; i < nume.length; i++) {
+            nume[i] = buffer.get(pozitie + i);
+        }
+        return nume;
+    }
 
     /**
-     * Extrage un obiect dintr-un XML
+     * @return pozitia primului tag de deschidere al unui element cu numele dat, aflat la sau dupa pozitie, sau sfarsit
+     */
+    private static int inceputElement(ByteBuffer buffer, byte[] nume, int pozitie, int sfarsit) {
+        for (int i = pozitie; i + nume.length < sfarsit; i++) {
+            int j = 0;
+            while (j < nume.length && buffer.get(i + j) == nume[j]) {
+                j++;
+            }
+            if (j == nume.length && sfarsitNume(buffer.get(i + j))) {
+                return i;
+            }
+        }
+        return sfarsit;
+    }
+
+    private static boolean sfarsitNume(byte octet) {
+        return octet == ' ' || octet == '>' || octet == '/' || octet == '\t' || octet == '\r' || octet == '\n';
+    }
+
+    /**
+     * Citeste campurile elementului XML curent: atributele si textul fiecarui element copil.
+     * Elementele copil care contin alte elemente nu sunt campuri si sunt sarite.
+     * La final, cititorul este pozitionat pe tag-ul de inchidere al elementului.
+     *
+     * @param reader - cititorul pozitionat pe tag-ul de deschidere al elementului
+     * @return campurile, dupa nume
+     */
+    static Map<String, String> readFields(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> campuri = new HashMap<>();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            campuri.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String nume = reader.getLocalName();
+                String text = readText(reader);
+                if (text != null) {
+                    campuri.put(nume, text);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return campuri;
+    }
+
+    /**
+     * Citeste textul elementului curent, sarind peste elementele continute;
+     * cititorul ramane pe tag-ul de inchidere al elementului
+     *
+     * @param reader - cititorul pozitionat pe tag-ul de deschidere al elementului
+     * @return textul sau null daca elementul contine alte elemente
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        boolean simplu = true;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                simplu = false;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (depth == 1 && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE || event == XMLStreamConstants.ENTITY_REFERENCE)) {
+                text.append(reader.getText());
+            }
+        }
+        return simplu ? text.toString() : null;
+    }
+
+    /**
+     * Scrie un obiect ca element XML
+     *
+     * @param writer - destinatia
+     * @param entity - obiectul pe care il scrie
+     */
+    public abstract void writeEntity(XMLStreamWriter writer, E entity) throws XMLStreamException;
+
+    /**
+     * Scrie un element XML care contine doar text
+     *
+     * @param writer - destinatia
+     * @param nume   - numele elementului
+     * @param valoare - textul elementului
+     */
+    static void writeField(XMLStreamWriter writer, String nume, String valoare) throws XMLStreamException {
+        writer.writeStartElement(nume);
+        writer.writeCharacters(valoare);
+        writer.writeEndElement();
+    }
+
+    /**
+     * Extrage un obiect din campurile unui element XML
      *
-     * @param element - String-ul din care extrage obiectul
+     * @param campuri - atributele si elementele copil ale elementului, dupa nume
      * @return - obiectul
      */
+    public abstract E extractEntity(Map<String, String> campuri);
+
+    /**
+     * Scrie un obiect in format binar, pentru copia binara a repository-ului
+     *
+     * @param out    - destinatia
+     * @param entity - obiectul
+     */
+    public abstract void writeBinary(DataOutput out, E entity) throws IOException;
+
+    /**
+     * Citeste un obiect scris de writeBinary
+     *
+     * @param buffer - sursa, pozitionata la inceputul obiectului
+     * @return obiectul
+     */
+    public abstract E readBinary(ByteBuffer buffer);
+
+    /**
+     * Activeaza copia binara: la checkpoint si la inchidere se scrie o copie binara langa fisierul XML,
+     * din care repository-ul se incarca la pornire daca este actuala. Rescrierile fisierului XML dintre ele
+     * (la fiecare modificare, in modul implicit) nu scriu copia, ci doar o sterg pe cea invechita.
+     */
+    public synchronized void enableSnapshot() {
+        this.snapshot = true;
+        if (!snapshotValid) {
+            if (inregistrariJurnal == 0) {
+                writeSnapshot();
+            } else {
+                checkpoint();
+            }
+        }
+    }
+
+    /**
+     * Activeaza memorarea fragmentelor XML: la rescrierea fisierului, doar obiectele modificate de la rescrierea
+     * anterioara sunt serializate din nou, restul fiind copiate din fragmentele memorate.
+     * Obiectele modificate trebuie salvate prin update, altfel fragmentul lor memorat nu se schimba.
+     */
+    public synchronized void enableFragmentCache() {
+        if (fragmente == null) {
+            fragmente = new HashMap<>();
+        }
+    }
+
+    /**
+     * Activeaza modul jurnalizat: fiecare modificare adauga o inregistrare in jurnalul de langa fisierul XML,
+     * iar fisierul XML este rescris doar la checkpoint
+     *
+     * @param checkpointInterval - numarul de inregistrari din jurnal dupa care se face automat un checkpoint
+     */
+    public synchronized void enableJournal(int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new ValidationException("Intervalul de checkpoint trebuie sa fie pozitiv!");
+        }
+        this.journal = true;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Dezactiveaza modul jurnalizat; modificarile din jurnal sunt scrise in fisierul XML
+     */
+    public synchronized void disableJournal() {
+        this.journal = false;
+        checkpoint();
+    }
 
+    /**
+     * Activeaza persistarea amanata: modificarile sunt facute doar in memorie, iar un fir de executie din fundal
+     * rescrie fisierul o singura data pentru toate modificarile adunate intr-un interval sau intr-un lot.
+     * Are prioritate fata de modul jurnalizat; flush() asteapta scrierea modificarilor facute pana atunci.
+     * @param intervalMillis - intervalul maxim, in milisecunde, dintre o modificare si scrierea ei
+     * @param batchSize - numarul de modificari dupa care fisierul este rescris fara a astepta intervalul
+     */
+    public synchronized void enableWriteBehind(long intervalMillis, int batchSize) {
+        if (intervalMillis < 1 || batchSize < 1) {
+            throw new ValidationException("Intervalul si dimensiunea lotului trebuie sa fie pozitive!");
+        }
+        if (writeBehind == null) {
+            writeBehind = new WriteBehindScheduler("scriere-" + filename, this::writeToFile, intervalMillis, batchSize);
+        }
+    }
 
-    public abstract E extractEntity(Element element);
+    /**
+     * Scrie in fisier modificarile in asteptare (in modul cu persistare amanata)
+     */
+    @Override
+    public void flush() {
+        WriteBehindScheduler scheduler = writeBehind;
+        if (scheduler != null) {
+            scheduler.flush();
+        }
+    }
+
+    /**
+     * Scrie modificarile in asteptare, opreste scrierea din fundal si scrie copia binara (daca este activata
+     * si nu exista inregistrari in jurnal, pe care copia nu le-ar contine)
+     */
+    @Override
+    public void close() {
+        WriteBehindScheduler scheduler;
+        synchronized (this) {
+            scheduler = writeBehind;
+            writeBehind = null;
+        }
+        if (scheduler != null) {
+            scheduler.close();
+        }
+        synchronized (this) {
+            if (snapshot && !snapshotValid && inregistrariJurnal == 0) {
+                writeSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Rescrie fisierul XML cu toate obiectele din memorie, goleste jurnalul si scrie copia binara (daca este activata)
+     */
+    public synchronized void checkpoint() {
+        writeToFile();
+        if (snapshot) {
+            writeSnapshot();
+        }
+    }
 
     /**
      * Salveaza un obiect
@@ -82,44 +453,102 @@ public abstract class AbstractXMLRepository<ID, E extends HasID<ID>> extends Abs
      * @return null daca obiectul s-a salvat cu succes sau obiectul daca acesta exista deja in memorie
      */
     @Override
-    public E save(E entity) {
+    public synchronized E save(E entity) {
         E entity1 = super.save(entity);
         if (entity1 == null) {
-            //saveToFile(entity);
-            writeToFile();
+            persist(SALVARE, List.of(entity));
         }
 
         return entity1;
     }
 
     /**
-     * Rescrie fisierul cu toate obiectele din memorie
+     * Rescrie fisierul cu toate obiectele din memorie; copia binara, devenita invechita, este stearsa.
+     * Obiectele sunt scrise unul cate unul (StAX) intr-un fisier temporar, care inlocuieste apoi fisierul vechi,
+     * deci memoria folosita nu depinde de numarul de obiecte.
+     * @throws ValidationException daca fisierul nu poate fi scris (fisierul vechi ramane neschimbat)
      */
-
-    public void writeToFile() {
+    public synchronized void writeToFile() {
+        Iterable<E> entities = super.findAll();
+        Path path = Paths.get(filename);
+        Path temporar = Paths.get(filename + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporar, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            if (fragmente != null) {
+                writeFragments(outputStream, entities);
+            } else {
+                XMLStreamWriter writer = outputFactory.createXMLStreamWriter(outputStream, "UTF-8");
+                writer.writeStartDocument("UTF-8", "1.0");
+                writer.writeCharacters("\n");
+                writer.writeStartElement("inbox");
+                for (E entity : entities) {
+                    writer.writeCharacters("\n    ");
+                    writeEntity(writer, entity);
+                }
+                writer.writeCharacters("\n");
+                writer.writeEndElement();
+                writer.writeEndDocument();
+                writer.close();
+            }
+            outputStream.flush();
+            channel.force(false);
+        } catch (IOException | XMLStreamException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
         try {
-            Document document = DocumentBuilderFactory
-                    .newInstance()
-                    .newDocumentBuilder()
-                    .newDocument();
-            Element root = document.createElement("inbox");
-            document.appendChild(root);
-            super.findAll().forEach(e -> {
-                Element elem = createElementfromEntity(document, e);
-                root.appendChild(elem);
-            });
-
-            //write Document to file
-            Transformer transformer = TransformerFactory.
-                    newInstance().newTransformer();
-            transformer.transform(new DOMSource(document),
-                    new StreamResult(this.filename));
+            Files.move(temporar, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            //fisierul contine acum toate modificarile, jurnalul nu mai e necesar
+            Files.deleteIfExists(Paths.get(journalFilename));
+            inregistrariJurnal = 0;
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+        try {
+            Files.deleteIfExists(Paths.get(snapshotFilename));
+            snapshotValid = false;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 
-        } catch (Exception e) {
+    /**
+     * Scrie copia binara a obiectelor din memorie, care trebuie sa corespunda fisierului XML
+     * (nu exista inregistrari in jurnal)
+     */
+    private void writeSnapshot() {
+        try {
+            BinarySnapshot.write(Paths.get(snapshotFilename), Paths.get(filename), super.findAll(), this::writeBinary);
+            snapshotValid = true;
+        } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Scrie documentul XML din fragmentele memorate, serializand doar obiectele fara fragment
+     *
+     * @param outputStream - destinatia
+     * @param entities     - obiectele
+     */
+    private void writeFragments(OutputStream outputStream, Iterable<E> entities) throws IOException, XMLStreamException {
+        outputStream.write(INCEPUT_XML);
+        for (E entity : entities) {
+            byte[] fragment = fragmente.get(entity.getID());
+            if (fragment == null) {
+                ByteArrayOutputStream octeti = new ByteArrayOutputStream();
+                XMLStreamWriter writer = outputFactory.createXMLStreamWriter(octeti, "UTF-8");
+                writeEntity(writer, entity);
+                writer.close();
+                fragment = octeti.toByteArray();
+                fragmente.put(entity.getID(), fragment);
+            }
+            outputStream.write(INDENTARE);
+            outputStream.write(fragment);
+        }
+        outputStream.write(SFARSIT_XML);
+    }
+
     /**
      * Scrie un obiect nou in fisier
      *
@@ -140,10 +569,10 @@ public abstract class AbstractXMLRepository<ID, E extends HasID<ID>> extends Abs
      * @return obiectul daca s-a reusit stergerea sau null daca obiectul nu exista
      */
     @Override
-    public E delete(ID id) {
+    public synchronized E delete(ID id) {
         E entity = super.delete(id);
         if (entity != null) {
-            writeToFile();
+            persist(STERGERE, List.of(entity));
         }
         return entity;
     }
@@ -155,11 +584,172 @@ public abstract class AbstractXMLRepository<ID, E extends HasID<ID>> extends Abs
      * @return null daca obiectul a fost modificat sau obiectul, daca acesta nu exista
      */
     @Override
-    public E update(E entity) {
+    public synchronized E update(E entity) {
         E entity1 = super.update(entity);
-        if (entity == null) {
-            writeToFile();
+        if (entity1 == null) {
+            persist(MODIFICARE, List.of(entity));
         }
         return entity1;
     }
+
+    /**
+     * Salveaza mai multe obiecte, persistand modificarile o singura data
+     *
+     * @param entities - obiectele pe care le salveaza
+     * @return pentru fiecare obiect, in ordine, null daca s-a salvat sau obiectul daca exista deja
+     */
+    @Override
+    public synchronized List<E> saveAll(Iterable<E> entities) {
+        List<E> rezultate = new ArrayList<>();
+        List<E> salvate = new ArrayList<>();
+        applyBatch(() -> {
+            for (E entity : entities) {
+                E entity1 = super.save(entity);
+                rezultate.add(entity1);
+                if (entity1 == null) {
+                    salvate.add(entity);
+                }
+            }
+            return null;
+        });
+        persist(SALVARE, salvate);
+        return rezultate;
+    }
+
+    /**
+     * Sterge mai multe obiecte, persistand modificarile o singura data
+     *
+     * @param ids - id-urile obiectelor
+     * @return pentru fiecare id, in ordine, obiectul sters sau null daca nu exista
+     */
+    @Override
+    public synchronized List<E> deleteAll(Iterable<ID> ids) {
+        List<E> rezultate = new ArrayList<>();
+        List<E> sterse = new ArrayList<>();
+        applyBatch(() -> {
+            for (ID id : ids) {
+                E entity = super.delete(id);
+                rezultate.add(entity);
+                if (entity != null) {
+                    sterse.add(entity);
+                }
+            }
+            return null;
+        });
+        persist(STERGERE, sterse);
+        return rezultate;
+    }
+
+    /**
+     * Modifica mai multe obiecte, persistand modificarile o singura data
+     *
+     * @param entities - noile obiecte
+     * @return pentru fiecare obiect, in ordine, null daca a fost modificat sau obiectul daca nu exista
+     */
+    @Override
+    public synchronized List<E> updateAll(Iterable<E> entities) {
+        List<E> rezultate = new ArrayList<>();
+        List<E> modificate = new ArrayList<>();
+        applyBatch(() -> {
+            for (E entity : entities) {
+                E entity1 = super.update(entity);
+                rezultate.add(entity1);
+                if (entity1 == null) {
+                    modificate.add(entity);
+                }
+            }
+            return null;
+        });
+        persist(MODIFICARE, modificate);
+        return rezultate;
+    }
+
+    /**
+     * Persista modificarile: le amana in modul cu persistare amanata, le scrie in jurnal daca modul jurnalizat
+     * e activ, altfel rescrie fisierul
+     *
+     * @param operatie - tipul modificarii
+     * @param entities - obiectele modificate
+     */
+    private void persist(String operatie, List<E> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        if (fragmente != null) {
+            entities.forEach(entity -> fragmente.remove(entity.getID()));
+        }
+        if (writeBehind != null) {
+            writeBehind.markDirty(entities.size());
+            return;
+        }
+        if (!journal) {
+            writeToFile();
+            return;
+        }
+        try (BufferedWriter bufferedWriter = Files.newBufferedWriter(Paths.get(journalFilename), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (E entity : entities) {
+                bufferedWriter.write(operatie + " " + toJournalLine(entity));
+                bufferedWriter.newLine();
+            }
+        } catch (Exception exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+        inregistrariJurnal += entities.size();
+        if (inregistrariJurnal >= checkpointInterval) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Serializeaza un obiect ca fragment XML pe o singura linie
+     *
+     * @param entity - obiectul
+     * @return fragmentul XML, cu caracterele de linie noua codificate
+     */
+    private String toJournalLine(E entity) throws XMLStreamException {
+        StringWriter stringWriter = new StringWriter();
+        XMLStreamWriter writer = outputFactory.createXMLStreamWriter(stringWriter);
+        writeEntity(writer, entity);
+        writer.close();
+        return stringWriter.toString().replace("\r", "&#13;").replace("\n", "&#10;");
+    }
+
+    /**
+     * Reaplica peste datele din memorie inregistrarile din jurnal.
+     * O ultima linie incompleta (scriere intrerupta) este ignorata.
+     */
+    private void replayJournal() {
+        File file = new File(journalFilename);
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader bufferedReader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String linie;
+            while ((linie = bufferedReader.readLine()) != null) {
+                if (linie.length() < 3) {
+                    continue;
+                }
+                E entity;
+                try {
+                    XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(linie.substring(2)));
+                    reader.nextTag();
+                    entity = extractEntity(readFields(reader));
+                } catch (Exception e) {
+                    break;
+                }
+                String operatie = linie.substring(0, 1);
+                if (operatie.equals(SALVARE)) {
+                    super.save(entity);
+                } else if (operatie.equals(MODIFICARE)) {
+                    super.update(entity);
+                } else if (operatie.equals(STERGERE)) {
+                    super.delete(entity.getID());
+                }
+                inregistrariJurnal++;
+            }
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
 }
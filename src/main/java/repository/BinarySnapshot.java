@@ -0,0 +1,116 @@
+package repository;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Copie binara a obiectelor unui repository XML, scrisa langa fisierul XML la checkpoint si la inchidere.
+ * Antetul contine MAGIC, VERSIUNE, dimensiunea si data modificarii fisierului XML corespunzator;
+ * daca fisierul XML nu mai corespunde antetului, copia este considerata invechita.
+ */
+final class BinarySnapshot {
+    private static final int MAGIC = 0x4D534E50;
+    private static final int VERSIUNE = 2;
+    private static final int ANTET = 4 + 4 + 8 + 8;
+
+    /**
+     * Scrierea unui obiect in format binar
+     */
+    interface Writer<E> {
+        void write(DataOutput out, E entity) throws IOException;
+    }
+
+    /**
+     * Citirea unui obiect scris de Writer, de la pozitia curenta a buffer-ului
+     */
+    interface Reader<E> {
+        E read(ByteBuffer buffer);
+    }
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Scrie copia binara a obiectelor
+     * @param snapshot - fisierul binar
+     * @param xml - fisierul XML care contine aceleasi obiecte
+     * @param entities - obiectele
+     * @param writer - scrierea unui obiect
+     */
+    static <E> void write(Path snapshot, Path xml, Iterable<E> entities, Writer<E> writer) throws IOException {
+        Path temporar = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporar), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSIUNE);
+            out.writeLong(Files.size(xml));
+            out.writeLong(Files.getLastModifiedTime(xml).toMillis());
+            for (E entity : entities) {
+                writer.write(out, entity);
+            }
+        }
+        Files.move(temporar, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Incarca obiectele din copia binara, mapand fisierul in memorie
+     * @param snapshot - fisierul binar
+     * @param xml - fisierul XML din care provine copia
+     * @param reader - citirea unui obiect
+     * @param consumer - primeste fiecare obiect citit
+     * @return false daca copia nu exista sau este invechita (caz in care nu s-a citit niciun obiect)
+     */
+    static <E> boolean read(Path snapshot, Path xml, Reader<E> reader, Consumer<E> consumer) throws IOException {
+        if (!Files.exists(snapshot) || !Files.exists(xml)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < ANTET) {
+                return false;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSIUNE
+                    || buffer.getLong() != Files.size(xml)
+                    || buffer.getLong() != Files.getLastModifiedTime(xml).toMillis()) {
+                return false;
+            }
+            while (buffer.hasRemaining()) {
+                consumer.accept(reader.read(buffer));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Scrie un String ca lungime (in octeti UTF-8) urmata de octeti; null are lungimea -1
+     */
+    static void writeString(DataOutput out, String valoare) throws IOException {
+        if (valoare == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] octeti = valoare.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(octeti.length);
+        out.write(octeti);
+    }
+
+    /**
+     * Citeste un String scris de writeString
+     */
+    static String readString(ByteBuffer buffer) {
+        int lungime = buffer.getInt();
+        if (lungime < 0) {
+            return null;
+        }
+        byte[] octeti = new byte[lungime];
+        buffer.get(octeti);
+        return new String(octeti, StandardCharsets.UTF_8);
+    }
+}
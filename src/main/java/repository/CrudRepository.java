@@ -1,6 +1,8 @@
 package repository;
 import validation.ValidationException;
 
+import java.util.List;
+
 /**
  * CRUD operations repository interface
  * @param <ID> - type E must have an attribute of type ID
@@ -55,4 +57,39 @@ public interface CrudRepository<ID, E> {
      * if the entity is not valid.
      */
     E update(E entity);
-}
\ No newline at end of file
+
+    /**
+     * saves all the given entities, persisting the changes only once
+     * @param entities
+     * entities must be not null
+     * @return for each entity, in order, the result of save:
+     * null - if the entity is saved, otherwise the entity (id already exists)
+     * @throws ValidationException
+     * if an entity is not valid
+     */
+    List<E> saveAll(Iterable<E> entities);
+    /**
+     * removes the entities with the specified ids, persisting the changes only once
+     * @param ids
+     * ids must be not null
+     * @return for each id, in order, the removed entity or null if there is no entity with the given id
+     */
+    List<E> deleteAll(Iterable<ID> ids);
+    /**
+     * updates all the given entities, persisting the changes only once
+     * @param entities
+     * entities must be not null
+     * @return for each entity, in order, the result of update:
+     * null - if the entity is updated, otherwise the entity (e.g id does not exist)
+     * @throws ValidationException
+     * if an entity is not valid.
+     */
+    List<E> updateAll(Iterable<E> entities);
+
+    /**
+     * registers a listener notified after each change of the repository
+     * @param listener
+     * listener must not be null
+     */
+    void addListener(RepositoryListener<E> listener);
+}
@@ -22,4 +22,15 @@ public interface FileRepository<ID, E extends HasID<ID>> {
      * Rescrie fisierul
      */
     void writeToFile();
+
+    /**
+     * Scrie in fisier modificarile a caror persistare a fost amanata;
+     * la revenire, toate modificarile facute inainte de apel sunt in fisier
+     */
+    void flush();
+
+    /**
+     * Scrie modificarile in asteptare si opreste firele de executie din fundal ale repository-ului
+     */
+    void close();
 }
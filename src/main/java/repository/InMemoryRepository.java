@@ -0,0 +1,24 @@
+package repository;
+
+/**
+ * Repository care memoreaza obiectele doar in memorie, fara persistare
+ * @param <ID> - tipul id-ului
+ * @param <E> - tipul obiectelor
+ */
+public class InMemoryRepository<ID, E extends HasID<ID>> extends AbstractCrudRepository<ID, E> {
+
+    /**
+     * Class constructor
+     */
+    public InMemoryRepository() {
+        super();
+    }
+
+    /**
+     * Class constructor
+     * @param index - index secundar actualizat la fiecare modificare
+     */
+    InMemoryRepository(RepositoryListener<E> index) {
+        super(index);
+    }
+}
@@ -0,0 +1,61 @@
+package repository;
+
+import domain.Nota;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository de note care raspunde cautarilor dupa student, tema si data din NotaIndex.
+ * Indexul este dat constructorului clasei de baza, care il actualizeaza la fiecare modificare.
+ */
+interface IndexedNotaRepository extends NotaRepository {
+
+    /**
+     * @return indexul notelor din repository
+     */
+    NotaIndex index();
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return notele studentului
+     */
+    @Override
+    default List<Nota> findByStudent(String idStudent) {
+        return index().findByStudent(idStudent);
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return notele date la tema
+     */
+    @Override
+    default List<Nota> findByTema(String idTema) {
+        return index().findByTema(idTema);
+    }
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return notele cu data in intervalul dat, in ordinea datei
+     */
+    @Override
+    default List<Nota> findByData(LocalDate inceput, LocalDate sfarsit) {
+        return index().findByData(inceput, sfarsit);
+    }
+
+    @Override
+    default int countByStudent(String idStudent) {
+        return index().countByStudent(idStudent);
+    }
+
+    @Override
+    default int countByTema(String idTema) {
+        return index().countByTema(idTema);
+    }
+
+    @Override
+    default int countByData(LocalDate inceput, LocalDate sfarsit) {
+        return index().countByData(inceput, sfarsit);
+    }
+}
@@ -0,0 +1,43 @@
+package repository;
+
+import domain.Student;
+
+import java.util.List;
+
+/**
+ * Repository de studenti care raspunde cautarilor dupa grupa din StudentIndex.
+ * Indexul este dat constructorului clasei de baza, care il actualizeaza la fiecare modificare.
+ */
+interface IndexedStudentRepository extends StudentRepository {
+
+    /**
+     * @return indexul studentilor din repository
+     */
+    StudentIndex index();
+
+    /**
+     * @param grupa - grupa
+     * @return studentii din grupa
+     */
+    @Override
+    default List<Student> findByGrupa(int grupa) {
+        return index().findByGrupa(grupa, this);
+    }
+
+    /**
+     * @param grupa - grupa
+     * @return numarul studentilor din grupa
+     */
+    @Override
+    default int countByGrupa(int grupa) {
+        return index().countByGrupa(grupa);
+    }
+
+    /**
+     * @return grupele care au cel putin un student, in ordine crescatoare
+     */
+    @Override
+    default int[] findGrupe() {
+        return index().grupe();
+    }
+}
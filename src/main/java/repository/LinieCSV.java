@@ -0,0 +1,201 @@
+package repository;
+
+import validation.ValidationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Cursor peste campurile unei linii CSV (separate prin virgula), citite direct din octetii liniei,
+ * fara a crea String-uri intermediare; se creeaza doar valorile cerute.
+ * Acelasi cursor poate fi refolosit pentru mai multe linii ale aceluiasi buffer.
+ */
+public final class LinieCSV {
+    private static final byte SEPARATOR = ',';
+    /**
+     * Numarul maxim de cifre parsate fara Double.parseDouble (10^15 < 2^53)
+     */
+    private static final int CIFRE_EXACTE = 15;
+    private static final double[] PUTERI_10 = new double[23];
+
+    static {
+        PUTERI_10[0] = 1;
+        for (int i = 1; i < PUTERI_10.length; i++) {
+            PUTERI_10[i] = PUTERI_10[i - 1] * 10;
+        }
+    }
+
+    private ByteBuffer buffer;
+    private int pozitie;
+    private int sfarsit;
+    private byte[] octeti = new byte[64];
+
+    /**
+     * Class constructor
+     * @param linie - linia, fara caracterul de linie noua
+     */
+    public LinieCSV(String linie) {
+        byte[] continut = linie.getBytes(StandardCharsets.UTF_8);
+        reset(ByteBuffer.wrap(continut), 0, continut.length);
+    }
+
+    LinieCSV() {
+    }
+
+    /**
+     * Pozitioneaza cursorul la inceputul unei alte linii
+     * @param buffer - octetii
+     * @param inceput - pozitia primului octet al liniei
+     * @param sfarsit - pozitia de dupa ultimul octet al liniei
+     */
+    void reset(ByteBuffer buffer, int inceput, int sfarsit) {
+        this.buffer = buffer;
+        this.pozitie = inceput;
+        this.sfarsit = sfarsit;
+    }
+
+    /**
+     * @param octet - un caracter ASCII
+     * @return true daca linia incepe, de la pozitia curenta, cu caracterul dat
+     */
+    boolean startsWith(char octet) {
+        return pozitie < sfarsit && buffer.get(pozitie) == octet;
+    }
+
+    /**
+     * Sare peste octeti
+     * @param numar - numarul de octeti
+     */
+    void skip(int numar) {
+        pozitie += numar;
+    }
+
+    /**
+     * @return urmatorul camp, ca text
+     */
+    public String nextString() {
+        int inceput = pozitie;
+        int capat = capatCamp();
+        int lungime = capat - inceput;
+        if (octeti.length < lungime) {
+            octeti = new byte[Math.max(lungime, octeti.length * 2)];
+        }
+        for (int i = 0; i < lungime; i++) {
+            octeti[i] = buffer.get(inceput + i);
+        }
+        treciPeste(capat);
+        return new String(octeti, 0, lungime, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return urmatorul camp, ca numar intreg
+     */
+    public int nextInt() {
+        int valoare = citesteInt();
+        treciPeste(pozitie);
+        return valoare;
+    }
+
+    /**
+     * @return true daca linia mai contine campuri
+     */
+    public boolean hasNext() {
+        return pozitie < sfarsit;
+    }
+
+    /**
+     * Numerele cu cel mult CIFRE_EXACTE cifre sunt calculate direct: mantisa si puterea lui 10 sunt exacte ca
+     * double, deci o singura impartire da aceeasi valoare ca Double.parseDouble
+     * @return urmatorul camp, ca numar real
+     */
+    public double nextDouble() {
+        int inceput = pozitie;
+        int capat = capatCamp();
+        boolean negativ = pozitie < capat && buffer.get(pozitie) == '-';
+        if (negativ) {
+            pozitie++;
+        }
+        long mantisa = 0;
+        int zecimale = -1;
+        int cifre = 0;
+        for (; pozitie < capat; pozitie++) {
+            byte octet = buffer.get(pozitie);
+            if (octet == '.' && zecimale < 0) {
+                zecimale = 0;
+            } else if (octet >= '0' && octet <= '9' && cifre < CIFRE_EXACTE) {
+                mantisa = mantisa * 10 + (octet - '0');
+                cifre++;
+                if (zecimale >= 0) {
+                    zecimale++;
+                }
+            } else {
+                //format neobisnuit (exponent, prea multe cifre): se foloseste parsarea standard
+                pozitie = inceput;
+                return Double.parseDouble(nextString());
+            }
+        }
+        if (cifre == 0) {
+            throw new ValidationException("Numar invalid!");
+        }
+        double valoare = zecimale > 0 ? mantisa / PUTERI_10[zecimale] : mantisa;
+        treciPeste(capat);
+        return negativ ? -valoare : valoare;
+    }
+
+    /**
+     * @return urmatorul camp, ca data in formatul an-luna-zi
+     */
+    public LocalDate nextDate() {
+        int an = citesteInt();
+        asteapta('-');
+        int luna = citesteInt();
+        asteapta('-');
+        int zi = citesteInt();
+        treciPeste(pozitie);
+        return LocalDate.of(an, luna, zi);
+    }
+
+    private int citesteInt() {
+        boolean negativ = pozitie < sfarsit && buffer.get(pozitie) == '-';
+        if (negativ) {
+            pozitie++;
+        }
+        int inceput = pozitie;
+        int valoare = 0;
+        while (pozitie < sfarsit) {
+            byte octet = buffer.get(pozitie);
+            if (octet < '0' || octet > '9') {
+                break;
+            }
+            valoare = valoare * 10 + (octet - '0');
+            pozitie++;
+        }
+        if (pozitie == inceput) {
+            throw new ValidationException("Numar invalid!");
+        }
+        return negativ ? -valoare : valoare;
+    }
+
+    private void asteapta(char caracter) {
+        if (pozitie >= sfarsit || buffer.get(pozitie) != caracter) {
+            throw new ValidationException("Data invalida!");
+        }
+        pozitie++;
+    }
+
+    private int capatCamp() {
+        int capat = pozitie;
+        while (capat < sfarsit && buffer.get(capat) != SEPARATOR) {
+            capat++;
+        }
+        return capat;
+    }
+
+    private void treciPeste(int capat) {
+        if (capat < sfarsit && buffer.get(capat) != SEPARATOR) {
+            throw new ValidationException("Camp invalid!");
+        }
+        pozitie = Math.min(capat + 1, sfarsit);
+    }
+}
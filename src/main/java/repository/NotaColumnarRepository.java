@@ -0,0 +1,526 @@
+package repository;
+
+import domain.Nota;
+import utils.IntHashMap;
+import utils.ObjectIntHashMap;
+import validation.ValidationException;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Repository de note in memorie, memorat pe coloane: id-urile studentilor si ale temelor sunt codificate
+ * prin dictionare in int[], data este memorata ca zi epoch in int[], iar nota si penalizarea cu doua zecimale in short[].
+ * Nota si penalizarea trebuie sa aiba cel mult doua zecimale (si modulul sub 327.67); altfel save si update
+ * arunca ValidationException, in loc sa rotunjeasca valoarea.
+ * Randurile fiecarui student, fiecarei teme si fiecarei zile sunt memorate in tablouri de int, deci cautarile
+ * si numararile nu parcurg toate coloanele. Id-ul unei note este de regula idStudent#idTema si nu este memorat:
+ * nota este gasita printre randurile studentului; doar id-urile care nu au aceasta forma sunt memorate separat.
+ * Obiectele Nota sunt create doar la cerere (findAll le creeaza o data pentru fiecare versiune a repository-ului);
+ * modificarea lor nu afecteaza repository-ul (se foloseste update).
+ */
+public class NotaColumnarRepository implements NotaRepository {
+    private static final int CAPACITATE_INITIALA = 16;
+    private static final double SCALA = 100.0;
+    private static final double EROARE = 1e-6;
+
+    private final Dictionar studenti = new Dictionar();
+    private final Dictionar teme = new Dictionar();
+    private final Zile zile = new Zile();
+    /**
+     * Randul si id-ul notelor al caror id nu este idStudent#idTema
+     */
+    private final ObjectIntHashMap<String> randuriIdSpecial = new ObjectIntHashMap<>();
+    private final IntHashMap<String> iduriSpeciale = new IntHashMap<>();
+    private final Grupare dupaStudent = new Grupare();
+    private final Grupare dupaTema = new Grupare();
+    private final Grupare dupaZi = new Grupare();
+    private int[] student = new int[CAPACITATE_INITIALA];
+    private int[] tema = new int[CAPACITATE_INITIALA];
+    private int[] zi = new int[CAPACITATE_INITIALA];
+    private short[] nota = new short[CAPACITATE_INITIALA];
+    private short[] penalizare = new short[CAPACITATE_INITIALA];
+    private int size;
+    private long versiune;
+    private long versiuneCopie = -1;
+    private List<Nota> copie;
+    private final List<RepositoryListener<Nota>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Dictionar care asociaza fiecarui String distinct un cod intreg
+     */
+    private static final class Dictionar {
+        private final ObjectIntHashMap<String> coduri = new ObjectIntHashMap<>();
+        private final List<String> valori = new ArrayList<>();
+
+        int codifica(String valoare) {
+            int cod = coduri.getOrDefault(valoare, -1);
+            if (cod < 0) {
+                cod = valori.size();
+                coduri.put(valoare, cod);
+                valori.add(valoare);
+            }
+            return cod;
+        }
+
+        int cod(String valoare) {
+            return coduri.getOrDefault(valoare, -1);
+        }
+
+        String valoare(int cod) {
+            return valori.get(cod);
+        }
+    }
+
+    /**
+     * Zilele distincte, in ordine crescatoare, fiecare cu un cod intreg; o zi noua este inserata prin deplasarea
+     * celor mai mari decat ea (numarul zilelor distincte este mic fata de numarul notelor)
+     */
+    private static final class Zile {
+        private int[] zile = new int[CAPACITATE_INITIALA];
+        private int[] coduri = new int[CAPACITATE_INITIALA];
+        private int size;
+
+        int codifica(int zi) {
+            int i = Arrays.binarySearch(zile, 0, size, zi);
+            if (i >= 0) {
+                return coduri[i];
+            }
+            i = -i - 1;
+            if (size == zile.length) {
+                zile = Arrays.copyOf(zile, size * 2);
+                coduri = Arrays.copyOf(coduri, size * 2);
+            }
+            System.arraycopy(zile, i, zile, i + 1, size - i);
+            System.arraycopy(coduri, i, coduri, i + 1, size - i);
+            zile[i] = zi;
+            coduri[i] = size;
+            size++;
+            return coduri[i];
+        }
+
+        int cod(int zi) {
+            int i = Arrays.binarySearch(zile, 0, size, zi);
+            return i >= 0 ? coduri[i] : -1;
+        }
+
+        /**
+         * @param zi - ziua
+         * @return pozitia primei zile mai mari sau egale cu ziua data
+         */
+        int prima(long zi) {
+            int stanga = 0;
+            int dreapta = size;
+            while (stanga < dreapta) {
+                int mijloc = (stanga + dreapta) >>> 1;
+                if (zile[mijloc] < zi) {
+                    stanga = mijloc + 1;
+                } else {
+                    dreapta = mijloc;
+                }
+            }
+            return stanga;
+        }
+    }
+
+    /**
+     * Randurile fiecarui cod (student, tema sau zi), impreuna cu locul fiecarui rand in lista codului sau,
+     * astfel incat un rand este adaugat, scos sau mutat in O(1)
+     */
+    private static final class Grupare {
+        private int[][] randuri = new int[CAPACITATE_INITIALA][];
+        private int[] numar = new int[CAPACITATE_INITIALA];
+        private int[] loc = new int[CAPACITATE_INITIALA];
+
+        void adauga(int cod, int rand) {
+            if (cod >= randuri.length) {
+                int capacitate = Math.max(cod + 1, randuri.length * 2);
+                randuri = Arrays.copyOf(randuri, capacitate);
+                numar = Arrays.copyOf(numar, capacitate);
+            }
+            if (rand >= loc.length) {
+                loc = Arrays.copyOf(loc, Math.max(rand + 1, loc.length * 2));
+            }
+            int[] lista = randuri[cod];
+            if (lista == null) {
+                lista = randuri[cod] = new int[4];
+            } else if (numar[cod] == lista.length) {
+                lista = randuri[cod] = Arrays.copyOf(lista, lista.length * 2);
+            }
+            lista[numar[cod]] = rand;
+            loc[rand] = numar[cod]++;
+        }
+
+        void scoate(int cod, int rand) {
+            int[] lista = randuri[cod];
+            int ultimul = lista[--numar[cod]];
+            lista[loc[rand]] = ultimul;
+            loc[ultimul] = loc[rand];
+        }
+
+        /**
+         * Inregistreaza mutarea unui rand pe alta pozitie
+         * @param cod - codul randului
+         * @param vechi - pozitia veche
+         * @param nou - pozitia noua
+         */
+        void muta(int cod, int vechi, int nou) {
+            randuri[cod][loc[vechi]] = nou;
+            loc[nou] = loc[vechi];
+        }
+
+        int numar(int cod) {
+            return cod < 0 || cod >= numar.length ? 0 : numar[cod];
+        }
+
+        int[] randuri(int cod) {
+            return randuri[cod];
+        }
+    }
+
+    /**
+     * @param id - id-ul notei
+     * @return nota sau null daca nu exista
+     */
+    @Override
+    public synchronized Nota findOne(String id) {
+        int pozitie = id == null ? -1 : pozitie(id);
+        return pozitie < 0 ? null : nota(pozitie);
+    }
+
+    /**
+     * Intoarce o copie imutabila a notelor existente in momentul apelului; copia este creata o singura data
+     * pentru fiecare versiune a repository-ului si refolosita pana la urmatoarea modificare
+     * @return toate notele
+     */
+    @Override
+    public synchronized Iterable<Nota> findAll() {
+        if (versiuneCopie != versiune) {
+            List<Nota> note = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                note.add(nota(i));
+            }
+            copie = Collections.unmodifiableList(note);
+            versiuneCopie = versiune;
+        }
+        return copie;
+    }
+
+    /**
+     * Salveaza o nota
+     * @param entity - nota
+     * @return null daca nota a fost salvata sau nota daca exista deja
+     * @throws ValidationException daca nota sau penalizarea au mai mult de doua zecimale
+     */
+    @Override
+    public synchronized Nota save(Nota entity) {
+        if (entity.getID() == null) {
+            throw new IllegalArgumentException("Id-ul nu poate fi null!");
+        }
+        if (pozitie(entity.getID()) >= 0) {
+            return entity;
+        }
+        valideaza(entity);
+        if (size == student.length) {
+            mareste();
+        }
+        scrie(size, entity);
+        size++;
+        versiune++;
+        listeners.forEach(listener -> listener.onSave(entity));
+        return null;
+    }
+
+    /**
+     * Sterge o nota; ultimul rand ia locul randului sters
+     * @param id - id-ul notei
+     * @return nota stearsa sau null daca nu exista
+     */
+    @Override
+    public synchronized Nota delete(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Id-ul nu poate fi null!");
+        }
+        int pozitie = pozitie(id);
+        if (pozitie < 0) {
+            return null;
+        }
+        Nota stearsa = nota(pozitie);
+        scoateDinGrupari(pozitie);
+        String idSters = iduriSpeciale.remove(pozitie);
+        if (idSters != null) {
+            randuriIdSpecial.remove(idSters);
+        }
+        int ultima = size - 1;
+        if (pozitie != ultima) {
+            String idUltima = iduriSpeciale.remove(ultima);
+            if (idUltima != null) {
+                iduriSpeciale.put(pozitie, idUltima);
+                randuriIdSpecial.put(idUltima, pozitie);
+            }
+            student[pozitie] = student[ultima];
+            tema[pozitie] = tema[ultima];
+            zi[pozitie] = zi[ultima];
+            nota[pozitie] = nota[ultima];
+            penalizare[pozitie] = penalizare[ultima];
+            dupaStudent.muta(student[pozitie], ultima, pozitie);
+            dupaTema.muta(tema[pozitie], ultima, pozitie);
+            dupaZi.muta(zile.cod(zi[pozitie]), ultima, pozitie);
+        }
+        size--;
+        versiune++;
+        listeners.forEach(listener -> listener.onDelete(stearsa));
+        return stearsa;
+    }
+
+    /**
+     * Modifica o nota
+     * @param entity - noua nota
+     * @return null daca nota a fost modificata sau nota daca nu exista
+     * @throws ValidationException daca nota sau penalizarea au mai mult de doua zecimale
+     */
+    @Override
+    public synchronized Nota update(Nota entity) {
+        if (entity.getID() == null) {
+            throw new IllegalArgumentException("Id-ul nu poate fi null!");
+        }
+        int pozitie = pozitie(entity.getID());
+        if (pozitie < 0) {
+            return entity;
+        }
+        valideaza(entity);
+        Nota veche = listeners.isEmpty() ? null : nota(pozitie);
+        scoateDinGrupari(pozitie);
+        scrie(pozitie, entity);
+        versiune++;
+        listeners.forEach(listener -> listener.onUpdate(veche, entity));
+        return null;
+    }
+
+    @Override
+    public void addListener(RepositoryListener<Nota> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public synchronized List<Nota> saveAll(Iterable<Nota> entities) {
+        List<Nota> rezultate = new ArrayList<>();
+        entities.forEach(entity -> rezultate.add(save(entity)));
+        return rezultate;
+    }
+
+    @Override
+    public synchronized List<Nota> deleteAll(Iterable<String> ids) {
+        List<Nota> rezultate = new ArrayList<>();
+        ids.forEach(id -> rezultate.add(delete(id)));
+        return rezultate;
+    }
+
+    @Override
+    public synchronized List<Nota> updateAll(Iterable<Nota> entities) {
+        List<Nota> rezultate = new ArrayList<>();
+        entities.forEach(entity -> rezultate.add(update(entity)));
+        return rezultate;
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return notele studentului
+     */
+    @Override
+    public synchronized List<Nota> findByStudent(String idStudent) {
+        return note(dupaStudent, studenti.cod(idStudent));
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return notele date la tema
+     */
+    @Override
+    public synchronized List<Nota> findByTema(String idTema) {
+        return note(dupaTema, teme.cod(idTema));
+    }
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return notele cu data in intervalul dat, in ordinea datei
+     */
+    @Override
+    public synchronized List<Nota> findByData(LocalDate inceput, LocalDate sfarsit) {
+        List<Nota> note = new ArrayList<>();
+        long ultima = sfarsit.toEpochDay();
+        for (int i = zile.prima(inceput.toEpochDay()); i < zile.size && zile.zile[i] <= ultima; i++) {
+            note.addAll(note(dupaZi, zile.coduri[i]));
+        }
+        return note;
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return numarul notelor studentului, fara a crea obiecte Nota
+     */
+    @Override
+    public synchronized int countByStudent(String idStudent) {
+        return dupaStudent.numar(studenti.cod(idStudent));
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return numarul notelor date la tema, fara a crea obiecte Nota
+     */
+    @Override
+    public synchronized int countByTema(String idTema) {
+        return dupaTema.numar(teme.cod(idTema));
+    }
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return numarul notelor cu data in intervalul dat; sunt parcurse doar zilele din interval
+     */
+    @Override
+    public synchronized int countByData(LocalDate inceput, LocalDate sfarsit) {
+        long ultima = sfarsit.toEpochDay();
+        int numar = 0;
+        for (int i = zile.prima(inceput.toEpochDay()); i < zile.size && zile.zile[i] <= ultima; i++) {
+            numar += dupaZi.numar(zile.coduri[i]);
+        }
+        return numar;
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return media notelor studentului sau NaN daca studentul nu are note
+     */
+    public synchronized double medieStudent(String idStudent) {
+        return medie(dupaStudent, studenti.cod(idStudent));
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return media notelor date la tema sau NaN daca tema nu are note
+     */
+    public synchronized double medieTema(String idTema) {
+        return medie(dupaTema, teme.cod(idTema));
+    }
+
+    /**
+     * @return numarul notelor
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private List<Nota> note(Grupare grupare, int cod) {
+        int numar = grupare.numar(cod);
+        List<Nota> note = new ArrayList<>(numar);
+        for (int i = 0; i < numar; i++) {
+            note.add(nota(grupare.randuri(cod)[i]));
+        }
+        return note;
+    }
+
+    private double medie(Grupare grupare, int cod) {
+        int numar = grupare.numar(cod);
+        long suma = 0;
+        for (int i = 0; i < numar; i++) {
+            suma += nota[grupare.randuri(cod)[i]];
+        }
+        return numar == 0 ? Double.NaN : suma / SCALA / numar;
+    }
+
+    /**
+     * @param id - id-ul unei note
+     * @return randul notei sau -1 daca nu exista
+     */
+    private int pozitie(String id) {
+        int pozitie = randuriIdSpecial.getOrDefault(id, -1);
+        if (pozitie >= 0) {
+            return pozitie;
+        }
+        for (int separator = id.indexOf('#'); separator >= 0; separator = id.indexOf('#', separator + 1)) {
+            int codStudent = studenti.cod(id.substring(0, separator));
+            int codTema = teme.cod(id.substring(separator + 1));
+            if (codStudent < 0 || codTema < 0 || dupaStudent.numar(codStudent) == 0) {
+                continue;
+            }
+            int[] randuri = dupaStudent.randuri(codStudent);
+            for (int i = dupaStudent.numar(codStudent) - 1; i >= 0; i--) {
+                int rand = randuri[i];
+                if (tema[rand] == codTema && iduriSpeciale.get(rand) == null) {
+                    return rand;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param pozitie - randul unei note
+     * @return id-ul notei
+     */
+    private String id(int pozitie) {
+        String id = iduriSpeciale.get(pozitie);
+        return id != null ? id : studenti.valoare(student[pozitie]) + "#" + teme.valoare(tema[pozitie]);
+    }
+
+    private void scrie(int pozitie, Nota entity) {
+        String idSpecial = iduriSpeciale.remove(pozitie);
+        if (idSpecial != null) {
+            randuriIdSpecial.remove(idSpecial);
+        }
+        if (!entity.getID().equals(entity.getIdStudent() + "#" + entity.getIdTema())) {
+            iduriSpeciale.put(pozitie, entity.getID());
+            randuriIdSpecial.put(entity.getID(), pozitie);
+        }
+        student[pozitie] = studenti.codifica(entity.getIdStudent());
+        tema[pozitie] = teme.codifica(entity.getIdTema());
+        zi[pozitie] = (int) entity.getData().toEpochDay();
+        nota[pozitie] = scalat(entity.getNota());
+        penalizare[pozitie] = scalat(entity.getPenalizare());
+        dupaStudent.adauga(student[pozitie], pozitie);
+        dupaTema.adauga(tema[pozitie], pozitie);
+        dupaZi.adauga(zile.codifica(zi[pozitie]), pozitie);
+    }
+
+    private void scoateDinGrupari(int pozitie) {
+        dupaStudent.scoate(student[pozitie], pozitie);
+        dupaTema.scoate(tema[pozitie], pozitie);
+        dupaZi.scoate(zile.cod(zi[pozitie]), pozitie);
+    }
+
+    private static void valideaza(Nota entity) {
+        scalat(entity.getNota());
+        scalat(entity.getPenalizare());
+    }
+
+    /**
+     * @param valoare - nota sau penalizarea
+     * @return valoarea inmultita cu SCALA
+     * @throws ValidationException daca valoarea are mai mult de doua zecimale sau nu incape in short
+     */
+    private static short scalat(double valoare) {
+        double scalat = valoare * SCALA;
+        long rotunjit = Math.round(scalat);
+        if (Math.abs(scalat - rotunjit) > EROARE || rotunjit < Short.MIN_VALUE || rotunjit > Short.MAX_VALUE) {
+            throw new ValidationException("Valoarea " + valoare + " nu poate fi memorata cu doua zecimale!");
+        }
+        return (short) rotunjit;
+    }
+
+    private Nota nota(int pozitie) {
+        return new Nota(id(pozitie), studenti.valoare(student[pozitie]), teme.valoare(tema[pozitie]),
+                nota[pozitie] / SCALA, LocalDate.ofEpochDay(zi[pozitie]), penalizare[pozitie] / SCALA);
+    }
+
+    private void mareste() {
+        int capacitate = student.length * 2;
+        student = Arrays.copyOf(student, capacitate);
+        tema = Arrays.copyOf(tema, capacitate);
+        zi = Arrays.copyOf(zi, capacitate);
+        nota = Arrays.copyOf(nota, capacitate);
+        penalizare = Arrays.copyOf(penalizare, capacitate);
+    }
+}
@@ -3,26 +3,48 @@ package repository;
 import domain.Nota;
 import java.time.LocalDate;
 
-public class NotaFileRepository extends AbstractFileRepository<String, Nota> {
+public class NotaFileRepository extends AbstractFileRepository<String, Nota> implements IndexedNotaRepository {
+
+    private final NotaIndex index;
 
     /**
      * Class constructor
      * @param filename - numele fisierului
      */
     public NotaFileRepository(String filename) {
-        super( filename);
+        this(filename, new NotaIndex());
+    }
+
+    /**
+     * Class constructor
+     * @param filename - numele fisierului
+     * @param index - indexul notelor, completat de clasa de baza inca de la incarcare
+     */
+    private NotaFileRepository(String filename, NotaIndex index) {
+        super(filename, index);
+        this.index = index;
     }
 
     /**
-     * Extrage informatia despre nota dintr-un string
-     * @param line - stringul din care ia datele notei
+     * Extrage informatia despre nota din campurile unei linii
+     * @param line - linia din care ia datele notei
      * @return nota
      */
     @Override
-    public Nota extractEntity(String line) {
-        String[] words = line.split(",");
-        String[] data = words[3].split("-");
-        LocalDate date = LocalDate.of(Integer.parseInt(data[0]), Integer.parseInt(data[1]), Integer.parseInt(data[2]));
-        return new Nota(words[0]+"#"+words[1], words[0], words[1], Double.parseDouble(words[2]), date);
+    public Nota extractEntity(LinieCSV line) {
+        String idStudent = line.nextString();
+        String idTema = line.nextString();
+        double nota = line.nextDouble();
+        LocalDate date = line.nextDate();
+        double penalizare = line.hasNext() ? line.nextDouble() : 0;
+        return new Nota(idStudent+"#"+idTema, idStudent, idTema, nota, date, penalizare);
+    }
+
+    /**
+     * @return indexul notelor
+     */
+    @Override
+    public NotaIndex index() {
+        return index;
     }
 }
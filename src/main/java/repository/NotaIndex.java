@@ -0,0 +1,131 @@
+package repository;
+
+import domain.Nota;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Indecsi secundari pentru note: dupa student, dupa tema si dupa data.
+ * Este inregistrat ca listener al repository-ului indexat, deci urmeaza automat modificarile acestuia.
+ * Metodele sunt sincronizate, deoarece repository-ul poate fi modificat din mai multe fire de executie.
+ */
+class NotaIndex implements RepositoryListener<Nota> {
+    private final Map<String, Map<String, Nota>> dupaStudent = new HashMap<>();
+    private final Map<String, Map<String, Nota>> dupaTema = new HashMap<>();
+    private final NavigableMap<LocalDate, Map<String, Nota>> dupaData = new TreeMap<>();
+
+    /**
+     * Adauga o nota in indecsi
+     * @param nota - nota adaugata
+     */
+    synchronized void add(Nota nota) {
+        dupaStudent.computeIfAbsent(nota.getIdStudent(), k -> new HashMap<>()).put(nota.getID(), nota);
+        dupaTema.computeIfAbsent(nota.getIdTema(), k -> new HashMap<>()).put(nota.getID(), nota);
+        dupaData.computeIfAbsent(nota.getData(), k -> new HashMap<>()).put(nota.getID(), nota);
+    }
+
+    /**
+     * Scoate o nota din indecsi
+     * @param nota - nota scoasa
+     */
+    synchronized void remove(Nota nota) {
+        remove(dupaStudent, nota.getIdStudent(), nota.getID());
+        remove(dupaTema, nota.getIdTema(), nota.getID());
+        remove(dupaData, nota.getData(), nota.getID());
+    }
+
+    @Override
+    public void onSave(Nota entity) {
+        add(entity);
+    }
+
+    @Override
+    public synchronized void onUpdate(Nota vechi, Nota nou) {
+        remove(vechi);
+        add(nou);
+    }
+
+    @Override
+    public void onDelete(Nota entity) {
+        remove(entity);
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return notele studentului
+     */
+    synchronized List<Nota> findByStudent(String idStudent) {
+        return copie(dupaStudent.get(idStudent));
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return notele date la tema
+     */
+    synchronized List<Nota> findByTema(String idTema) {
+        return copie(dupaTema.get(idTema));
+    }
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return notele cu data in intervalul dat, in ordinea datei
+     */
+    synchronized List<Nota> findByData(LocalDate inceput, LocalDate sfarsit) {
+        List<Nota> note = new ArrayList<>();
+        if (inceput.isAfter(sfarsit)) {
+            return note;
+        }
+        dupaData.subMap(inceput, true, sfarsit, true).values().forEach(n -> note.addAll(n.values()));
+        return note;
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return numarul notelor studentului
+     */
+    synchronized int countByStudent(String idStudent) {
+        Map<String, Nota> note = dupaStudent.get(idStudent);
+        return note == null ? 0 : note.size();
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return numarul notelor date la tema
+     */
+    synchronized int countByTema(String idTema) {
+        Map<String, Nota> note = dupaTema.get(idTema);
+        return note == null ? 0 : note.size();
+    }
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return numarul notelor cu data in intervalul dat; sunt parcurse doar zilele din interval
+     */
+    synchronized int countByData(LocalDate inceput, LocalDate sfarsit) {
+        if (inceput.isAfter(sfarsit)) {
+            return 0;
+        }
+        int numar = 0;
+        for (Map<String, Nota> note : dupaData.subMap(inceput, true, sfarsit, true).values()) {
+            numar += note.size();
+        }
+        return numar;
+    }
+
+    private static <K> void remove(Map<K, Map<String, Nota>> index, K cheie, String id) {
+        Map<String, Nota> note = index.get(cheie);
+        if (note != null) {
+            note.remove(id);
+            if (note.isEmpty()) {
+                index.remove(cheie);
+            }
+        }
+    }
+
+    private static List<Nota> copie(Map<String, Nota> note) {
+        return note == null ? new ArrayList<>() : new ArrayList<>(note.values());
+    }
+}
@@ -0,0 +1,176 @@
+package repository;
+
+import domain.Nota;
+import validation.ValidationException;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class NotaJDBCRepo extends AbstractJDBCRepository<String, Nota> implements NotaRepository {
+
+    private final PreparedStatement selectStudent;
+    private final PreparedStatement selectTema;
+    private final PreparedStatement selectData;
+    private final PreparedStatement countStudent;
+    private final PreparedStatement countTema;
+    private final PreparedStatement countData;
+
+    /**
+     * Class constructor
+     * @param url - adresa JDBC a bazei de date
+     */
+    public NotaJDBCRepo(String url) {
+        super(url, "nota", "id", new String[]{"idStudent", "idTema", "nota", "dataCurenta", "penalizare"},
+                "CREATE TABLE IF NOT EXISTS nota (id VARCHAR PRIMARY KEY, idStudent VARCHAR, idTema VARCHAR, "
+                        + "nota DOUBLE PRECISION, dataCurenta DATE)",
+                "ALTER TABLE nota ADD COLUMN IF NOT EXISTS penalizare DOUBLE PRECISION DEFAULT 0 NOT NULL",
+                "CREATE INDEX IF NOT EXISTS nota_idStudent ON nota (idStudent)",
+                "CREATE INDEX IF NOT EXISTS nota_idTema ON nota (idTema)",
+                "CREATE INDEX IF NOT EXISTS nota_dataCurenta ON nota (dataCurenta)");
+        selectStudent = prepare("SELECT * FROM nota WHERE idStudent = ?");
+        selectTema = prepare("SELECT * FROM nota WHERE idTema = ?");
+        selectData = prepare("SELECT * FROM nota WHERE dataCurenta BETWEEN ? AND ? ORDER BY dataCurenta");
+        countStudent = prepare("SELECT COUNT(*) FROM nota WHERE idStudent = ?");
+        countTema = prepare("SELECT COUNT(*) FROM nota WHERE idTema = ?");
+        countData = prepare("SELECT COUNT(*) FROM nota WHERE dataCurenta BETWEEN ? AND ?");
+    }
+
+    /**
+     * Extrage informatia despre nota din randul curent
+     * @param resultSet - rezultatul, pozitionat pe rand
+     * @return nota
+     */
+    @Override
+    public Nota extractEntity(ResultSet resultSet) throws SQLException {
+        return new Nota(resultSet.getString("id"), resultSet.getString("idStudent"), resultSet.getString("idTema"),
+                resultSet.getDouble("nota"), resultSet.getDate("dataCurenta").toLocalDate(),
+                resultSet.getDouble("penalizare"));
+    }
+
+    /**
+     * Completeaza parametrii instructiunii cu coloanele unei note
+     * @param statement - instructiunea
+     * @param nota - nota
+     */
+    @Override
+    public void writeEntity(PreparedStatement statement, Nota nota) throws SQLException {
+        statement.setString(1, nota.getIdStudent());
+        statement.setString(2, nota.getIdTema());
+        statement.setDouble(3, nota.getNota());
+        statement.setDate(4, Date.valueOf(nota.getData()));
+        statement.setDouble(5, nota.getPenalizare());
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return notele studentului
+     */
+    @Override
+    public List<Nota> findByStudent(String idStudent) {
+        return query(selectStudent, idStudent);
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return notele date la tema
+     */
+    @Override
+    public List<Nota> findByTema(String idTema) {
+        return query(selectTema, idTema);
+    }
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return notele cu data in intervalul dat, in ordinea datei
+     */
+    @Override
+    public List<Nota> findByData(LocalDate inceput, LocalDate sfarsit) {
+        return query(selectData, Date.valueOf(inceput), Date.valueOf(sfarsit));
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return numarul notelor studentului
+     */
+    @Override
+    public int countByStudent(String idStudent) {
+        return count(countStudent, idStudent);
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return numarul notelor date la tema
+     */
+    @Override
+    public int countByTema(String idTema) {
+        return count(countTema, idTema);
+    }
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return numarul notelor cu data in intervalul dat
+     */
+    @Override
+    public int countByData(LocalDate inceput, LocalDate sfarsit) {
+        return count(countData, Date.valueOf(inceput), Date.valueOf(sfarsit));
+    }
+
+    private synchronized int count(PreparedStatement statement, Object... parametri) {
+        try {
+            for (int i = 0; i < parametri.length; i++) {
+                statement.setObject(i + 1, parametri[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Cauta notele printr-o singura interogare SQL; alegerea indexului este facuta de baza de date
+     * @param query - cautarea
+     * @return notele care indeplinesc conditiile, in ordinea datei si a id-ului, dupa offset si limit
+     */
+    @Override
+    public Stream<Nota> find(NotaQuery query) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM nota WHERE nota BETWEEN ? AND ?");
+        List<Object> parametri = new ArrayList<>();
+        parametri.add(Math.max(query.getNotaMinima(), -Double.MAX_VALUE));
+        parametri.add(Math.min(query.getNotaMaxima(), Double.MAX_VALUE));
+        if (query.getIdStudent() != null) {
+            sql.append(" AND idStudent = ?");
+            parametri.add(query.getIdStudent());
+        }
+        if (query.getIdTema() != null) {
+            sql.append(" AND idTema = ?");
+            parametri.add(query.getIdTema());
+        }
+        if (query.getInceput() != null) {
+            sql.append(" AND dataCurenta >= ?");
+            parametri.add(Date.valueOf(query.getInceput()));
+        }
+        if (query.getSfarsit() != null) {
+            sql.append(" AND dataCurenta <= ?");
+            parametri.add(Date.valueOf(query.getSfarsit()));
+        }
+        sql.append(" ORDER BY dataCurenta, id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+        parametri.add(query.getOffset());
+        parametri.add(query.getLimit());
+        try (PreparedStatement statement = prepare(sql.toString())) {
+            return query(statement, parametri.toArray()).stream();
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+}
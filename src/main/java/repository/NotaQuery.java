@@ -0,0 +1,165 @@
+package repository;
+
+import domain.Nota;
+import validation.ValidationException;
+
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+/**
+ * Cautare de note dupa student, tema, intervalul datei si intervalul notei, cu paginare (offset si limit).
+ * Conditiile se adauga prin metodele cu acelasi nume, care intorc aceeasi cautare; conditiile nefolosite
+ * nu restrang rezultatul. Exemplu: {@code new NotaQuery().tema("3").data(luni, duminica).nota(0, 4.99).limit(20)}.
+ */
+public class NotaQuery implements Predicate<Nota> {
+    private String idStudent;
+    private String idTema;
+    private LocalDate inceput;
+    private LocalDate sfarsit;
+    private double notaMinima = Double.NEGATIVE_INFINITY;
+    private double notaMaxima = Double.POSITIVE_INFINITY;
+    private long offset;
+    private long limit = Long.MAX_VALUE;
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return cautarea, restransa la notele studentului
+     */
+    public NotaQuery student(String idStudent) {
+        this.idStudent = idStudent;
+        return this;
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return cautarea, restransa la notele date la tema
+     */
+    public NotaQuery tema(String idTema) {
+        this.idTema = idTema;
+        return this;
+    }
+
+    /**
+     * @param inceput - prima zi din interval sau null pentru un interval fara inceput
+     * @param sfarsit - ultima zi din interval sau null pentru un interval fara sfarsit
+     * @return cautarea, restransa la notele cu data in interval (inclusiv capetele)
+     */
+    public NotaQuery data(LocalDate inceput, LocalDate sfarsit) {
+        this.inceput = inceput;
+        this.sfarsit = sfarsit;
+        return this;
+    }
+
+    /**
+     * @param minima - nota minima
+     * @param maxima - nota maxima
+     * @return cautarea, restransa la notele din interval (inclusiv capetele)
+     */
+    public NotaQuery nota(double minima, double maxima) {
+        this.notaMinima = minima;
+        this.notaMaxima = maxima;
+        return this;
+    }
+
+    /**
+     * @param offset - numarul de rezultate sarite
+     * @return cautarea
+     * @throws ValidationException daca offset-ul este negativ
+     */
+    public NotaQuery offset(long offset) {
+        if (offset < 0) {
+            throw new ValidationException("Offset-ul nu poate fi negativ!");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * @param limit - numarul maxim de rezultate
+     * @return cautarea
+     * @throws ValidationException daca limita este negativa
+     */
+    public NotaQuery limit(long limit) {
+        if (limit < 0) {
+            throw new ValidationException("Limita nu poate fi negativa!");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * @param nota - o nota
+     * @return true daca nota indeplineste toate conditiile cautarii
+     */
+    @Override
+    public boolean test(Nota nota) {
+        return (idStudent == null || idStudent.equals(nota.getIdStudent()))
+                && (idTema == null || idTema.equals(nota.getIdTema()))
+                && (inceput == null || !nota.getData().isBefore(inceput))
+                && (sfarsit == null || !nota.getData().isAfter(sfarsit))
+                && nota.getNota() >= notaMinima && nota.getNota() <= notaMaxima;
+    }
+
+    /**
+     * @return id-ul studentului sau null
+     */
+    public String getIdStudent() {
+        return idStudent;
+    }
+
+    /**
+     * @return id-ul temei sau null
+     */
+    public String getIdTema() {
+        return idTema;
+    }
+
+    /**
+     * @return prima zi din interval sau null
+     */
+    public LocalDate getInceput() {
+        return inceput;
+    }
+
+    /**
+     * @return ultima zi din interval sau null
+     */
+    public LocalDate getSfarsit() {
+        return sfarsit;
+    }
+
+    /**
+     * @return nota minima (-infinit daca nu este restransa)
+     */
+    public double getNotaMinima() {
+        return notaMinima;
+    }
+
+    /**
+     * @return nota maxima (+infinit daca nu este restransa)
+     */
+    public double getNotaMaxima() {
+        return notaMaxima;
+    }
+
+    /**
+     * @return numarul de rezultate sarite
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return numarul maxim de rezultate
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return true daca data este restransa
+     */
+    boolean hasData() {
+        return inceput != null || sfarsit != null;
+    }
+}
@@ -0,0 +1,144 @@
+package repository;
+
+import domain.Nota;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Alege indexul prin care este executata o cautare de note: dintre indecsii dupa student, dupa tema si dupa data
+ * care corespund conditiilor cautarii, cel cu cele mai putine note; parcurgerea tuturor notelor este folosita
+ * doar daca nicio conditie nu are index. Celelalte conditii sunt verificate pe notele intoarse de index.
+ */
+final class NotaQueryPlanner {
+
+    /**
+     * Ordinea rezultatelor unei cautari
+     */
+    static final Comparator<Nota> ORDINE = Comparator.comparing(Nota::getData).thenComparing(Nota::getID);
+
+    /**
+     * Modul in care sunt gasite notele candidate
+     */
+    enum Plan {
+        STUDENT, TEMA, DATA, SCANARE
+    }
+
+    private NotaQueryPlanner() {
+    }
+
+    /**
+     * @param repository - repository-ul de note
+     * @param query - cautarea
+     * @return indexul cu cele mai putine note candidate
+     */
+    static Plan plan(NotaRepository repository, NotaQuery query) {
+        Plan plan = Plan.SCANARE;
+        long cost = Long.MAX_VALUE;
+        if (query.getIdStudent() != null) {
+            plan = Plan.STUDENT;
+            cost = repository.countByStudent(query.getIdStudent());
+        }
+        if (query.getIdTema() != null) {
+            long costTema = repository.countByTema(query.getIdTema());
+            if (costTema < cost) {
+                plan = Plan.TEMA;
+                cost = costTema;
+            }
+        }
+        if (query.hasData() && repository.countByData(inceput(query), sfarsit(query)) < cost) {
+            plan = Plan.DATA;
+        }
+        return plan;
+    }
+
+    /**
+     * Cauta notele prin indexul ales de plan; notele intoarse de indexul dupa data sunt deja in ordinea datei,
+     * deci sunt sortate doar cele din aceeasi zi, iar parcurgerea se opreste dupa offset + limit rezultate.
+     * Pentru celelalte indexuri sunt pastrate doar primele offset + limit note, intr-o coada cu prioritate.
+     * @param repository - repository-ul de note
+     * @param query - cautarea
+     * @return notele care indeplinesc conditiile, in ordinea datei si a id-ului, dupa offset si limit
+     */
+    static Stream<Nota> find(NotaRepository repository, NotaQuery query) {
+        long necesare = query.getLimit() > Long.MAX_VALUE - query.getOffset()
+                ? Long.MAX_VALUE : query.getOffset() + query.getLimit();
+        List<Nota> primele;
+        switch (plan(repository, query)) {
+            case STUDENT:
+                primele = primele(repository.findByStudent(query.getIdStudent()), query, necesare);
+                break;
+            case TEMA:
+                primele = primele(repository.findByTema(query.getIdTema()), query, necesare);
+                break;
+            case DATA:
+                primele = primeleInOrdineaDatei(repository.findByData(inceput(query), sfarsit(query)), query, necesare);
+                break;
+            default:
+                primele = primele(repository.findAll(), query, necesare);
+        }
+        return primele.stream().skip(query.getOffset());
+    }
+
+    /**
+     * @param note - notele, in ordinea datei
+     * @param query - cautarea
+     * @param necesare - numarul maxim de rezultate
+     * @return primele note care indeplinesc conditiile, in ordinea datei si a id-ului
+     */
+    private static List<Nota> primeleInOrdineaDatei(List<Nota> note, NotaQuery query, long necesare) {
+        List<Nota> rezultat = new ArrayList<>();
+        int inceputZi = 0;
+        for (Nota nota : note) {
+            if (!query.test(nota)) {
+                continue;
+            }
+            if (inceputZi < rezultat.size() && !nota.getData().equals(rezultat.get(inceputZi).getData())) {
+                rezultat.subList(inceputZi, rezultat.size()).sort(ORDINE);
+                if (rezultat.size() >= necesare) {
+                    break;
+                }
+                inceputZi = rezultat.size();
+            }
+            rezultat.add(nota);
+        }
+        rezultat.subList(inceputZi, rezultat.size()).sort(ORDINE);
+        return rezultat.size() > necesare ? rezultat.subList(0, (int) necesare) : rezultat;
+    }
+
+    /**
+     * @param note - notele, in orice ordine
+     * @param query - cautarea
+     * @param necesare - numarul maxim de rezultate
+     * @return primele note care indeplinesc conditiile, in ordinea datei si a id-ului
+     */
+    private static List<Nota> primele(Iterable<Nota> note, NotaQuery query, long necesare) {
+        PriorityQueue<Nota> coada = new PriorityQueue<>(ORDINE.reversed());
+        for (Nota nota : note) {
+            if (!query.test(nota)) {
+                continue;
+            }
+            if (coada.size() < necesare) {
+                coada.add(nota);
+            } else if (!coada.isEmpty() && ORDINE.compare(nota, coada.peek()) < 0) {
+                coada.poll();
+                coada.add(nota);
+            }
+        }
+        List<Nota> rezultat = new ArrayList<>(coada);
+        rezultat.sort(ORDINE);
+        return rezultat;
+    }
+
+    private static LocalDate inceput(NotaQuery query) {
+        return query.getInceput() == null ? LocalDate.MIN : query.getInceput();
+    }
+
+    private static LocalDate sfarsit(NotaQuery query) {
+        return query.getSfarsit() == null ? LocalDate.MAX : query.getSfarsit();
+    }
+}
@@ -0,0 +1,59 @@
+package repository;
+
+import domain.Nota;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository de note cu cautari dupa student, tema si data
+ */
+public interface NotaRepository extends CrudRepository<String, Nota> {
+    /**
+     * @param idStudent - id-ul studentului
+     * @return notele studentului
+     */
+    List<Nota> findByStudent(String idStudent);
+
+    /**
+     * @param idTema - id-ul temei
+     * @return notele date la tema
+     */
+    List<Nota> findByTema(String idTema);
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return notele cu data in intervalul dat (inclusiv capetele), in ordinea datei
+     */
+    List<Nota> findByData(LocalDate inceput, LocalDate sfarsit);
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return numarul notelor studentului
+     */
+    int countByStudent(String idStudent);
+
+    /**
+     * @param idTema - id-ul temei
+     * @return numarul notelor date la tema
+     */
+    int countByTema(String idTema);
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return numarul notelor cu data in intervalul dat
+     */
+    int countByData(LocalDate inceput, LocalDate sfarsit);
+
+    /**
+     * Cauta notele prin indexul cel mai selectiv dintre cele care corespund conditiilor cautarii
+     * @param query - cautarea
+     * @return notele care indeplinesc conditiile, in ordinea datei si a id-ului, dupa offset si limit
+     */
+    default Stream<Nota> find(NotaQuery query) {
+        return NotaQueryPlanner.find(this, query);
+    }
+}
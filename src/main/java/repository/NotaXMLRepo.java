@@ -1,78 +1,111 @@
 package repository;
 
 import domain.Nota;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
-import domain.Nota;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
+import java.util.Map;
+
+public class NotaXMLRepo extends AbstractXMLRepository<String, Nota> implements IndexedNotaRepository {
 
-public class NotaXMLRepo extends AbstractXMLRepository<String, Nota> {
+    private final NotaIndex index;
 
     /**
      * Class constructor
      * @param filename - numele fisierului
      */
     public NotaXMLRepo(String filename) {
-        super( filename);
+        this(filename, new NotaIndex());
     }
 
-    @Override
-    public Element createElementfromEntity(Document document, Nota entity) {
-        Element e = document.createElement("nota");
-
-        Element idStudent = document.createElement("idStudent");
-        idStudent.setTextContent(entity.getIdStudent());
-        e.appendChild(idStudent);
-
-        Element idTema = document.createElement("idTema");
-        idTema.setTextContent(entity.getIdTema());
-        e.appendChild(idTema);
-
-        Element notaProf = document.createElement("notaProf");
-        Double i=entity.getNota();
-        notaProf.setTextContent(i.toString());
-        e.appendChild(notaProf);
-
-        Element data = document.createElement("dataCurenta");
-        LocalDate d = entity.getData();
-        data.setTextContent(d.toString());
-        e.appendChild(data);
-
-        return e;
+    /**
+     * Class constructor
+     * @param filename - numele fisierului
+     * @param index - indexul notelor, completat de clasa de baza inca de la incarcare
+     */
+    private NotaXMLRepo(String filename, NotaIndex index) {
+        super(filename, index);
+        this.index = index;
     }
 
+    /**
+     * Scrie o nota ca element XML
+     * @param writer - destinatia
+     * @param entity - nota
+     */
+    @Override
+    public void writeEntity(XMLStreamWriter writer, Nota entity) throws XMLStreamException {
+        writer.writeStartElement("nota");
+        writer.writeAttribute("id", entity.getID());
+        writeField(writer, "idStudent", entity.getIdStudent());
+        writeField(writer, "idTema", entity.getIdTema());
+        writeField(writer, "notaProf", String.valueOf(entity.getNota()));
+        writeField(writer, "dataCurenta", entity.getData().toString());
+        writeField(writer, "penalizare", String.valueOf(entity.getPenalizare()));
+        writer.writeEndElement();
+    }
 
     /**
-     * Extrage informatia despre nota dintr-un XML
-     * @param element - elem XML din care ia datele notei
+     * Extrage informatia despre nota din campurile unui element XML
+     * @param campuri - campurile elementului XML din care ia datele notei
      * @return nota
      */
     @Override
-    public Nota extractEntity(Element element) {
-        String id = element.getAttribute("id");
-        NodeList nods = element.getChildNodes();
-
-        String studentId =element.getElementsByTagName("idStudent")
-                .item(0)
-                .getTextContent();
-
-        String temaId =element.getElementsByTagName("idTema")
-                .item(0)
-                .getTextContent();
+    public Nota extractEntity(Map<String, String> campuri) {
+        String studentId = campuri.get("idStudent");
+        String temaId = campuri.get("idTema");
+        String id = campuri.getOrDefault("id", "");
+        if (id.isEmpty()) {
+            id = studentId + "#" + temaId;
+        }
 
-        String notaProf =element.getElementsByTagName("notaProf")
-                .item(0)
-                .getTextContent();
+        String[] d = campuri.get("dataCurenta").split("-");
+        LocalDate dat = LocalDate.of(Integer.parseInt(d[0]), Integer.parseInt(d[1]), Integer.parseInt(d[2]));
 
+        String penalizare = campuri.get("penalizare");
+        return new Nota(id, studentId, temaId, Double.parseDouble(campuri.get("notaProf")), dat,
+                penalizare == null ? 0 : Double.parseDouble(penalizare));
+    }
 
-        String data =element.getElementsByTagName("dataCurenta")
-                .item(0)
-                .getTextContent();
+    /**
+     * Scrie o nota in format binar
+     * @param out - destinatia
+     * @param entity - nota
+     */
+    @Override
+    public void writeBinary(DataOutput out, Nota entity) throws IOException {
+        BinarySnapshot.writeString(out, entity.getID());
+        BinarySnapshot.writeString(out, entity.getIdStudent());
+        BinarySnapshot.writeString(out, entity.getIdTema());
+        out.writeDouble(entity.getNota());
+        out.writeLong(entity.getData().toEpochDay());
+        out.writeDouble(entity.getPenalizare());
+    }
 
-        String[] d = data.split("-");
-        LocalDate dat = LocalDate.of(Integer.parseInt(d[0]), Integer.parseInt(d[1]), Integer.parseInt(d[2]));
+    /**
+     * Citeste o nota scrisa de writeBinary
+     * @param buffer - sursa
+     * @return nota
+     */
+    @Override
+    public Nota readBinary(ByteBuffer buffer) {
+        String id = BinarySnapshot.readString(buffer);
+        String idStudent = BinarySnapshot.readString(buffer);
+        String idTema = BinarySnapshot.readString(buffer);
+        double nota = buffer.getDouble();
+        LocalDate data = LocalDate.ofEpochDay(buffer.getLong());
+        return new Nota(id, idStudent, idTema, nota, data, buffer.getDouble());
+    }
 
-        return new Nota(id,studentId,temaId,Double.parseDouble(notaProf),dat);
-        }
+    /**
+     * @return indexul notelor
+     */
+    @Override
+    public NotaIndex index() {
+        return index;
+    }
 }
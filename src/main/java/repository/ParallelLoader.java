@@ -0,0 +1,79 @@
+package repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Incarcarea in paralel a fisierelor mari: fisierul este impartit in bucati care incep la limitele dintre
+ * obiecte (linii, respectiv elemente XML), bucatile sunt parsate in ForkJoinPool-ul comun, iar rezultatele
+ * sunt aplicate apoi in ordinea din fisier.
+ * Dimensiunea aproximativa a unei bucati poate fi schimbata prin proprietatea de sistem MARIME_BUCATA;
+ * fisierele care incap intr-o singura bucata sunt incarcate secvential.
+ */
+final class ParallelLoader {
+    static final String MARIME_BUCATA = "repository.marimeBucata";
+    private static final int MARIME_IMPLICITA = 1 << 20;
+
+    private ParallelLoader() {
+    }
+
+    /**
+     * @return dimensiunea aproximativa, in octeti, a unei bucati
+     */
+    static int marimeBucata() {
+        return Math.max(1, Integer.getInteger(MARIME_BUCATA, MARIME_IMPLICITA));
+    }
+
+    /**
+     * Imparte octetii dintre doua pozitii in bucati de aproximativ marimeBucata() octeti
+     * @param inceput - pozitia primului octet
+     * @param sfarsit - pozitia de dupa ultimul octet
+     * @param limita - pentru o pozitie, intoarce prima limita dintre obiecte aflata la sau dupa ea (cel mult sfarsit)
+     * @return pozitiile de inceput ale bucatilor, urmate de sfarsit
+     */
+    static int[] imparte(int inceput, int sfarsit, IntUnaryOperator limita) {
+        int marime = marimeBucata();
+        int[] limite = new int[16];
+        int numar = 0;
+        limite[numar++] = inceput;
+        int pozitie = inceput;
+        while (sfarsit - pozitie > marime) {
+            int urmatoarea = limita.applyAsInt(pozitie + marime);
+            if (urmatoarea >= sfarsit) {
+                break;
+            }
+            if (numar == limite.length) {
+                limite = Arrays.copyOf(limite, numar * 2);
+            }
+            limite[numar++] = urmatoarea;
+            pozitie = urmatoarea;
+        }
+        limite = Arrays.copyOf(limite, numar + 1);
+        limite[numar] = sfarsit;
+        return limite;
+    }
+
+    /**
+     * Parseaza bucatile in paralel
+     * @param limite - limitele bucatilor, intoarse de imparte
+     * @param parser - parseaza bucata dintre doua pozitii
+     * @return rezultatele, in ordinea bucatilor
+     */
+    static <R> List<R> parse(int[] limite, Parser<R> parser) {
+        return IntStream.range(0, limite.length - 1)
+                .parallel()
+                .mapToObj(i -> parser.parse(limite[i], limite[i + 1]))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Parseaza o bucata a unui fisier
+     * @param <R> - tipul rezultatului
+     */
+    interface Parser<R> {
+        R parse(int inceput, int sfarsit);
+    }
+}
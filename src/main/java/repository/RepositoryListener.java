@@ -0,0 +1,31 @@
+package repository;
+
+/**
+ * Primeste notificari dupa fiecare modificare a unui repository. Notificarile sunt trimise din firul de executie
+ * care a facut modificarea, dupa ce aceasta a fost aplicata.
+ * @param <E> - tipul obiectelor din repository
+ */
+public interface RepositoryListener<E> {
+
+    /**
+     * Apelata dupa ce un obiect a fost salvat
+     * @param entity - obiectul salvat
+     */
+    default void onSave(E entity) {
+    }
+
+    /**
+     * Apelata dupa ce un obiect a fost modificat
+     * @param vechi - obiectul inlocuit
+     * @param nou - noul obiect
+     */
+    default void onUpdate(E vechi, E nou) {
+    }
+
+    /**
+     * Apelata dupa ce un obiect a fost sters
+     * @param entity - obiectul sters
+     */
+    default void onDelete(E entity) {
+    }
+}
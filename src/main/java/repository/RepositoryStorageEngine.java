@@ -0,0 +1,71 @@
+package repository;
+
+import domain.Tema;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Mediu de stocare format din trei repository-uri; flush si close sunt transmise fiecarui repository care
+ * are persistare proprie (fisier sau baza de date)
+ */
+class RepositoryStorageEngine implements StorageEngine {
+    private final StudentRepository studenti;
+    private final CrudRepository<String, Tema> teme;
+    private final NotaRepository note;
+    private final Path folder;
+
+    /**
+     * Class constructor
+     * @param studenti - repository-ul studentilor
+     * @param teme - repository-ul temelor
+     * @param note - repository-ul notelor
+     * @param folder - folderul fisierelor sau al bazei de date
+     */
+    RepositoryStorageEngine(StudentRepository studenti, CrudRepository<String, Tema> teme, NotaRepository note, Path folder) {
+        this.folder = folder;
+        this.studenti = studenti;
+        this.teme = teme;
+        this.note = note;
+    }
+
+    @Override
+    public StudentRepository studenti() {
+        return studenti;
+    }
+
+    @Override
+    public CrudRepository<String, Tema> teme() {
+        return teme;
+    }
+
+    @Override
+    public NotaRepository note() {
+        return note;
+    }
+
+    @Override
+    public Path folder() {
+        return folder;
+    }
+
+    @Override
+    public void flush() {
+        for (CrudRepository<?, ?> repository : List.of(studenti, teme, note)) {
+            if (repository instanceof FileRepository) {
+                ((FileRepository<?, ?>) repository).flush();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (CrudRepository<?, ?> repository : List.of(studenti, teme, note)) {
+            if (repository instanceof FileRepository) {
+                ((FileRepository<?, ?>) repository).close();
+            } else if (repository instanceof AbstractJDBCRepository) {
+                ((AbstractJDBCRepository<?, ?>) repository).close();
+            }
+        }
+    }
+}
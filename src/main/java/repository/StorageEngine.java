@@ -0,0 +1,43 @@
+package repository;
+
+import domain.Tema;
+
+import java.nio.file.Path;
+
+/**
+ * Mediu de stocare: cele trei repository-uri folosite de aplicatie, impreuna cu persistarea lor.
+ * Instantele sunt create de StorageEngines, dupa tipul ales in configuratie.
+ */
+public interface StorageEngine {
+
+    /**
+     * @return repository-ul studentilor
+     */
+    StudentRepository studenti();
+
+    /**
+     * @return repository-ul temelor
+     */
+    CrudRepository<String, Tema> teme();
+
+    /**
+     * @return repository-ul notelor
+     */
+    NotaRepository note();
+
+    /**
+     * @return folderul fisierelor sau al bazei de date, in care pot fi pastrate si alte date ale aplicatiei
+     */
+    Path folder();
+
+    /**
+     * Persista modificarile a caror scriere a fost amanata;
+     * la revenire, toate modificarile facute inainte de apel sunt persistate
+     */
+    void flush();
+
+    /**
+     * Persista modificarile in asteptare si elibereaza resursele (fire de executie, fisiere, conexiuni)
+     */
+    void close();
+}
@@ -0,0 +1,169 @@
+package repository;
+
+import domain.Tema;
+import validation.ValidationException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Creeaza mediul de stocare dupa tipul ales in configuratie. Tipurile disponibile:
+ * <ul>
+ *     <li>xml - fisierele Studenti.xml, Teme.xml si Note.xml, rescrise la fiecare modificare din fragmentele XML
+ *     memorate (doar obiectele modificate sunt serializate din nou); copia binara pentru pornire rapida este scrisa
+ *     doar la inchidere</li>
+ *     <li>text - fisierele Studenti.txt, Teme.txt si Note.txt</li>
+ *     <li>binary - fisierele XML, incarcate din copia binara mapata in memorie, cu modificarile adaugate in jurnal</li>
+ *     <li>memory - doar in memorie, notele fiind memorate pe coloane</li>
+ *     <li>jdbc - baza de date H2 incorporata laborator.mv.db</li>
+ * </ul>
+ * Optiunile (de exemplu proprietatile de sistem) pot schimba modul de persistare al fisierelor:
+ * <ul>
+ *     <li>repository.compactare - pentru tipul text, activeaza modul log (vezi AbstractFileRepository.enableLogMode):
+ *     fisierele sunt compactate in fundal cand proportia liniilor invechite depaseste valoarea data</li>
+ *     <li>repository.scriereAmanata - pentru tipurile xml, binary si text, activeaza persistarea amanata
+ *     (vezi enableWriteBehind): modificarile sunt scrise din fundal, cel tarziu dupa numarul dat de milisecunde</li>
+ *     <li>repository.lot - numarul de modificari dupa care persistarea amanata scrie fara a astepta intervalul;
+ *     implicit 1000</li>
+ * </ul>
+ * Cele trei repository-uri sunt incarcate in acelasi timp.
+ */
+public final class StorageEngines {
+    public static final String XML = "xml";
+    public static final String TEXT = "text";
+    public static final String BINARY = "binary";
+    public static final String MEMORY = "memory";
+    public static final String JDBC = "jdbc";
+
+    /**
+     * Optiunea care activeaza modul log pentru tipul text; valoarea este pragul de compactare, intre 0 si 1
+     */
+    public static final String COMPACTARE = "repository.compactare";
+
+    /**
+     * Optiunea care activeaza persistarea amanata pentru tipurile xml, binary si text; valoarea este intervalul
+     * maxim, in milisecunde, dintre o modificare si scrierea ei
+     */
+    public static final String SCRIERE_AMANATA = "repository.scriereAmanata";
+
+    /**
+     * Optiunea care da numarul de modificari dupa care persistarea amanata scrie fara a astepta intervalul
+     */
+    public static final String LOT = "repository.lot";
+
+    /**
+     * Numarul de modificari din jurnal dupa care fisierele XML sunt rescrise (tipul binary)
+     */
+    private static final int CHECKPOINT = 1000;
+
+    /**
+     * Numarul implicit de modificari dupa care persistarea amanata scrie fara a astepta intervalul
+     */
+    private static final int LOT_IMPLICIT = 1000;
+
+    private StorageEngines() {
+    }
+
+    /**
+     * @param tip - tipul mediului de stocare
+     * @param folder - folderul fisierelor sau al bazei de date
+     * @return mediul de stocare, cu datele incarcate
+     * @throws ValidationException daca tipul nu exista
+     */
+    public static StorageEngine create(String tip, String folder) {
+        return create(tip, folder, new Properties());
+    }
+
+    /**
+     * @param tip - tipul mediului de stocare
+     * @param folder - folderul fisierelor sau al bazei de date
+     * @param optiuni - optiunile de persistare; cele necunoscute sunt ignorate
+     * @return mediul de stocare, cu datele incarcate
+     * @throws ValidationException daca tipul nu exista sau o optiune are o valoare invalida
+     */
+    public static StorageEngine create(String tip, String folder, Properties optiuni) {
+        switch (tip) {
+            case XML:
+                return load(Paths.get(folder),
+                        () -> xml(new StudentXMLRepo(Paths.get(folder, "Studenti.xml").toString()), false, optiuni),
+                        () -> xml(new TemaXMLRepo(Paths.get(folder, "Teme.xml").toString()), false, optiuni),
+                        () -> xml(new NotaXMLRepo(Paths.get(folder, "Note.xml").toString()), false, optiuni));
+            case BINARY:
+                return load(Paths.get(folder),
+                        () -> xml(new StudentXMLRepo(Paths.get(folder, "Studenti.xml").toString()), true, optiuni),
+                        () -> xml(new TemaXMLRepo(Paths.get(folder, "Teme.xml").toString()), true, optiuni),
+                        () -> xml(new NotaXMLRepo(Paths.get(folder, "Note.xml").toString()), true, optiuni));
+            case TEXT:
+                return load(Paths.get(folder),
+                        () -> text(new StudentFileRepository(Paths.get(folder, "Studenti.txt").toString()), optiuni),
+                        () -> text(new TemaFileRepository(Paths.get(folder, "Teme.txt").toString()), optiuni),
+                        () -> text(new NotaFileRepository(Paths.get(folder, "Note.txt").toString()), optiuni));
+            case MEMORY:
+                return new RepositoryStorageEngine(new StudentInMemoryRepository(), new InMemoryRepository<>(), new NotaColumnarRepository(),
+                        Paths.get(folder));
+            case JDBC:
+                String url = "jdbc:h2:" + Paths.get(folder, "laborator").toAbsolutePath();
+                return load(Paths.get(folder), () -> new StudentJDBCRepo(url), () -> new TemaJDBCRepo(url), () -> new NotaJDBCRepo(url));
+            default:
+                throw new ValidationException("Tip de stocare necunoscut: " + tip);
+        }
+    }
+
+    private static StorageEngine load(Path folder, Supplier<? extends StudentRepository> studenti,
+                                      Supplier<? extends CrudRepository<String, Tema>> teme,
+                                      Supplier<? extends NotaRepository> note) {
+        CompletableFuture<? extends StudentRepository> s = CompletableFuture.supplyAsync(studenti);
+        CompletableFuture<? extends CrudRepository<String, Tema>> t = CompletableFuture.supplyAsync(teme);
+        CompletableFuture<? extends NotaRepository> n = CompletableFuture.supplyAsync(note);
+        try {
+            return new RepositoryStorageEngine(s.join(), t.join(), n.join(), folder);
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    private static <R extends AbstractFileRepository<?, ?>> R text(R repository, Properties optiuni) {
+        String compactare = optiuni.getProperty(COMPACTARE);
+        if (compactare != null) {
+            repository.enableLogMode(parseOptiune(COMPACTARE, compactare));
+        }
+        String interval = optiuni.getProperty(SCRIERE_AMANATA);
+        if (interval != null) {
+            repository.enableWriteBehind((long) parseOptiune(SCRIERE_AMANATA, interval), lot(optiuni));
+        }
+        return repository;
+    }
+
+    private static int lot(Properties optiuni) {
+        String lot = optiuni.getProperty(LOT);
+        return lot == null ? LOT_IMPLICIT : (int) parseOptiune(LOT, lot);
+    }
+
+    private static double parseOptiune(String nume, String valoare) {
+        try {
+            return Double.parseDouble(valoare);
+        } catch (NumberFormatException exception) {
+            throw new ValidationException("Valoare invalida pentru " + nume + ": " + valoare);
+        }
+    }
+
+    private static <R extends AbstractXMLRepository<?, ?>> R xml(R repository, boolean jurnal, Properties optiuni) {
+        repository.enableSnapshot();
+        repository.enableFragmentCache();
+        if (jurnal) {
+            repository.enableJournal(CHECKPOINT);
+        }
+        String interval = optiuni.getProperty(SCRIERE_AMANATA);
+        if (interval != null) {
+            repository.enableWriteBehind((long) parseOptiune(SCRIERE_AMANATA, interval), lot(optiuni));
+        }
+        return repository;
+    }
+}
@@ -2,24 +2,44 @@ package repository;
 
 import domain.Student;
 
-public class StudentFileRepository extends AbstractFileRepository<String, Student> {
+
+public class StudentFileRepository extends AbstractFileRepository<String, Student> implements IndexedStudentRepository {
+
+    private final StudentIndex index;
 
     /**
      * Class constructor
      * @param filename - numele fisierului
      */
     public StudentFileRepository(String filename) {
-        super(filename);
+        this(filename, new StudentIndex());
     }
 
     /**
-     * Extrage informatia despre student dintr-un string
-     * @param linie - stringul din care ia datele studentului
+     * Class constructor
+     * @param filename - numele fisierului
+     * @param index - indexul studentilor, completat de clasa de baza inca de la incarcare
+     */
+    private StudentFileRepository(String filename, StudentIndex index) {
+        super(filename, index);
+        this.index = index;
+    }
+
+    /**
+     * Extrage informatia despre student din campurile unei linii
+     * @param linie - linia din care ia datele studentului
      * @return studentul
      */
     @Override
-    public Student extractEntity(String linie) {
-        String[] cuvinte = linie.split(",");
-        return new Student(cuvinte[0], cuvinte[1], Integer.parseInt(cuvinte[2]), cuvinte[3]);
+    public Student extractEntity(LinieCSV linie) {
+        return new Student(linie.nextString(), linie.nextString(), linie.nextInt(), linie.nextString());
+    }
+
+    /**
+     * @return indexul studentilor
+     */
+    @Override
+    public StudentIndex index() {
+        return index;
     }
 }
@@ -0,0 +1,35 @@
+package repository;
+
+import domain.Student;
+
+/**
+ * Repository de studenti memorat doar in memorie, cu index dupa grupa
+ */
+public class StudentInMemoryRepository extends InMemoryRepository<String, Student> implements IndexedStudentRepository {
+
+    private final StudentIndex index;
+
+    /**
+     * Class constructor
+     */
+    public StudentInMemoryRepository() {
+        this(new StudentIndex());
+    }
+
+    /**
+     * Class constructor
+     * @param index - indexul studentilor
+     */
+    private StudentInMemoryRepository(StudentIndex index) {
+        super(index);
+        this.index = index;
+    }
+
+    /**
+     * @return indexul studentilor
+     */
+    @Override
+    public StudentIndex index() {
+        return index;
+    }
+}
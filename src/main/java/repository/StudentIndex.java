@@ -0,0 +1,122 @@
+package repository;
+
+import domain.Student;
+import utils.IntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index secundar al studentilor dupa grupa: grupa este cheia unui IntHashMap (fara obiecte Integer),
+ * iar id-urile studentilor unei grupe sunt memorate intr-un tablou.
+ * Este inregistrat ca listener al repository-ului indexat, deci urmeaza automat modificarile acestuia.
+ * Metodele sunt sincronizate, deoarece repository-ul poate fi modificat din mai multe fire de executie.
+ */
+class StudentIndex implements RepositoryListener<Student> {
+    private final IntHashMap<Grupa> grupe = new IntHashMap<>();
+
+    /**
+     * Id-urile studentilor unei grupe
+     */
+    private static final class Grupa {
+        private String[] ids = new String[8];
+        private int size;
+
+        void add(String id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        void remove(String id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i].equals(id)) {
+                    ids[i] = ids[--size];
+                    ids[size] = null;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adauga un student in index
+     * @param student - studentul adaugat
+     */
+    synchronized void add(Student student) {
+        grupe.computeIfAbsent(student.getGrupa(), grupa -> new Grupa()).add(student.getID());
+    }
+
+    /**
+     * Scoate un student din index
+     * @param student - studentul scos
+     */
+    synchronized void remove(Student student) {
+        Grupa grupa = grupe.get(student.getGrupa());
+        if (grupa != null) {
+            grupa.remove(student.getID());
+            if (grupa.size == 0) {
+                grupe.remove(student.getGrupa());
+            }
+        }
+    }
+
+    @Override
+    public void onSave(Student entity) {
+        add(entity);
+    }
+
+    @Override
+    public synchronized void onUpdate(Student vechi, Student nou) {
+        remove(vechi);
+        add(nou);
+    }
+
+    @Override
+    public void onDelete(Student entity) {
+        remove(entity);
+    }
+
+    /**
+     * @param grupa - grupa
+     * @return id-urile studentilor din grupa
+     */
+    synchronized List<String> findByGrupa(int grupa) {
+        Grupa ids = grupe.get(grupa);
+        return ids == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(ids.ids).subList(0, ids.size));
+    }
+
+    /**
+     * @param grupa - grupa
+     * @param repository - repository-ul indexat
+     * @return studentii din grupa
+     */
+    List<Student> findByGrupa(int grupa, CrudRepository<String, Student> repository) {
+        List<Student> studenti = new ArrayList<>();
+        for (String id : findByGrupa(grupa)) {
+            Student student = repository.findOne(id);
+            if (student != null) {
+                studenti.add(student);
+            }
+        }
+        return studenti;
+    }
+
+    /**
+     * @param grupa - grupa
+     * @return numarul studentilor din grupa
+     */
+    synchronized int countByGrupa(int grupa) {
+        Grupa ids = grupe.get(grupa);
+        return ids == null ? 0 : ids.size;
+    }
+
+    /**
+     * @return grupele care au cel putin un student, in ordine crescatoare
+     */
+    synchronized int[] grupe() {
+        return grupe.keys();
+    }
+}
@@ -0,0 +1,99 @@
+package repository;
+
+import domain.Student;
+import validation.ValidationException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+public class StudentJDBCRepo extends AbstractJDBCRepository<String, Student> implements StudentRepository {
+
+    private final PreparedStatement selectGrupa;
+    private final PreparedStatement countGrupa;
+    private final PreparedStatement selectGrupe;
+
+    /**
+     * Class constructor
+     * @param url - adresa JDBC a bazei de date
+     */
+    public StudentJDBCRepo(String url) {
+        super(url, "student", "idStudent", new String[]{"nume", "grupa", "email"},
+                "CREATE TABLE IF NOT EXISTS student (idStudent VARCHAR PRIMARY KEY, nume VARCHAR, grupa INT, email VARCHAR)",
+                "CREATE INDEX IF NOT EXISTS student_grupa ON student (grupa)");
+        selectGrupa = prepare("SELECT * FROM student WHERE grupa = ?");
+        countGrupa = prepare("SELECT COUNT(*) FROM student WHERE grupa = ?");
+        selectGrupe = prepare("SELECT DISTINCT grupa FROM student ORDER BY grupa");
+    }
+
+    /**
+     * Extrage informatia despre student din randul curent
+     * @param resultSet - rezultatul, pozitionat pe rand
+     * @return studentul
+     */
+    @Override
+    public Student extractEntity(ResultSet resultSet) throws SQLException {
+        return new Student(resultSet.getString("idStudent"), resultSet.getString("nume"),
+                resultSet.getInt("grupa"), resultSet.getString("email"));
+    }
+
+    /**
+     * Completeaza parametrii instructiunii cu coloanele unui student
+     * @param statement - instructiunea
+     * @param student - student
+     */
+    @Override
+    public void writeEntity(PreparedStatement statement, Student student) throws SQLException {
+        statement.setString(1, student.getNume());
+        statement.setInt(2, student.getGrupa());
+        statement.setString(3, student.getEmail());
+    }
+
+    /**
+     * @param grupa - grupa
+     * @return studentii din grupa
+     */
+    @Override
+    public List<Student> findByGrupa(int grupa) {
+        return query(selectGrupa, grupa);
+    }
+
+    /**
+     * @param grupa - grupa
+     * @return numarul studentilor din grupa
+     */
+    @Override
+    public synchronized int countByGrupa(int grupa) {
+        try {
+            countGrupa.setInt(1, grupa);
+            try (ResultSet resultSet = countGrupa.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * @return grupele care au cel putin un student, in ordine crescatoare
+     */
+    @Override
+    public synchronized int[] findGrupe() {
+        try (ResultSet resultSet = selectGrupe.executeQuery()) {
+            int[] grupe = new int[16];
+            int size = 0;
+            while (resultSet.next()) {
+                if (size == grupe.length) {
+                    grupe = Arrays.copyOf(grupe, size * 2);
+                }
+                grupe[size++] = resultSet.getInt(1);
+            }
+            return Arrays.copyOf(grupe, size);
+        } catch (SQLException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+}
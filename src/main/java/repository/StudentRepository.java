@@ -0,0 +1,27 @@
+package repository;
+
+import domain.Student;
+
+import java.util.List;
+
+/**
+ * Repository de studenti cu cautari dupa grupa
+ */
+public interface StudentRepository extends CrudRepository<String, Student> {
+    /**
+     * @param grupa - grupa
+     * @return studentii din grupa
+     */
+    List<Student> findByGrupa(int grupa);
+
+    /**
+     * @param grupa - grupa
+     * @return numarul studentilor din grupa
+     */
+    int countByGrupa(int grupa);
+
+    /**
+     * @return grupele care au cel putin un student, in ordine crescatoare
+     */
+    int[] findGrupe();
+}
@@ -1,64 +1,95 @@
 package repository;
 
 import domain.Student;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 
-public class StudentXMLRepo extends AbstractXMLRepository<String, Student> {
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+public class StudentXMLRepo extends AbstractXMLRepository<String, Student> implements IndexedStudentRepository {
+
+    private final StudentIndex index;
     /**
      * Class constructor
      *
      * @param filename - numele fisierului
      */
     public StudentXMLRepo(String filename) {
-        super(filename);
+        this(filename, new StudentIndex());
+    }
+
+    /**
+     * Class constructor
+     * @param filename - numele fisierului
+     * @param index - indexul studentilor, completat de clasa de baza inca de la incarcare
+     */
+    private StudentXMLRepo(String filename, StudentIndex index) {
+        super(filename, index);
+        this.index = index;
     }
 
     /**
-     * Extrage informatia despre student dintr-un element XML
+     * Extrage informatia despre student din campurile unui element XML
      *
-     * @param element - XML-ul din care ia datele studentului
+     * @param campuri - campurile elementului XML din care ia datele studentului
      * @return studentul
      */
-
     @Override
-    public Student extractEntity(Element element) {
-        String studentId = element.getAttribute("idStudent");
-        NodeList nods = element.getChildNodes();
-        String nume = element.getElementsByTagName("nume")
-                .item(0)
-                .getTextContent();
-        String grupa = element.getElementsByTagName("grupa")
-                .item(0)
-                .getTextContent();
-        String email = element.getElementsByTagName("email")
-                .item(0)
-                .getTextContent();
-
-        return new Student(studentId, nume, Integer.parseInt(grupa), email);
+    public Student extractEntity(Map<String, String> campuri) {
+        return new Student(campuri.get("idStudent"), campuri.get("nume"),
+                Integer.parseInt(campuri.get("grupa")), campuri.get("email"));
     }
 
+    /**
+     * Scrie un student ca element XML
+     *
+     * @param writer - destinatia
+     * @param entity - studentul
+     */
     @Override
-    public Element createElementfromEntity(Document document, Student entity) {
-        Element e = document.createElement("student");
-        e.setAttribute("idStudent", entity.getID());
-
-        Element nume = document.createElement("nume");
-        nume.setTextContent(entity.getNume());
-        e.appendChild(nume);
-
-        Element grupa = document.createElement("grupa");
-        Integer g = entity.getGrupa();
-        grupa.setTextContent(g.toString());
-        e.appendChild(grupa);
-
-        Element email = document.createElement("email");
-        email.setTextContent(entity.getEmail());
-        e.appendChild(email);
+    public void writeEntity(XMLStreamWriter writer, Student entity) throws XMLStreamException {
+        writer.writeStartElement("student");
+        writer.writeAttribute("idStudent", entity.getID());
+        writeField(writer, "nume", entity.getNume());
+        writeField(writer, "grupa", String.valueOf(entity.getGrupa()));
+        writeField(writer, "email", entity.getEmail());
+        writer.writeEndElement();
+    }
 
-        return e;
+    /**
+     * Scrie un student in format binar
+     * @param out - destinatia
+     * @param entity - studentul
+     */
+    @Override
+    public void writeBinary(DataOutput out, Student entity) throws IOException {
+        BinarySnapshot.writeString(out, entity.getID());
+        BinarySnapshot.writeString(out, entity.getNume());
+        out.writeInt(entity.getGrupa());
+        BinarySnapshot.writeString(out, entity.getEmail());
     }
 
+    /**
+     * Citeste un student scris de writeBinary
+     * @param buffer - sursa
+     * @return studentul
+     */
+    @Override
+    public Student readBinary(ByteBuffer buffer) {
+        String idStudent = BinarySnapshot.readString(buffer);
+        String nume = BinarySnapshot.readString(buffer);
+        int grupa = buffer.getInt();
+        return new Student(idStudent, nume, grupa, BinarySnapshot.readString(buffer));
+    }
 
+    /**
+     * @return indexul studentilor
+     */
+    @Override
+    public StudentIndex index() {
+        return index;
+    }
 }
@@ -13,13 +13,12 @@ public class TemaFileRepository extends AbstractFileRepository<String, Tema> {
     }
 
     /**
-     * Extrage informatia despre tema dintr-un string
-     * @param linie - stringul din care ia datele temei
+     * Extrage informatia despre tema din campurile unei linii
+     * @param linie - linia din care ia datele temei
      * @return tema
      */
     @Override
-    public Tema extractEntity(String linie) {
-        String[] cuvinte = linie.split(",");
-        return new Tema(cuvinte[0], cuvinte[1], Integer.parseInt(cuvinte[2]), Integer.parseInt(cuvinte[3]));
+    public Tema extractEntity(LinieCSV linie) {
+        return new Tema(linie.nextString(), linie.nextString(), linie.nextInt(), linie.nextInt());
     }
 }
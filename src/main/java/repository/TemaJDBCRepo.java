@@ -0,0 +1,42 @@
+package repository;
+
+import domain.Tema;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class TemaJDBCRepo extends AbstractJDBCRepository<String, Tema> {
+
+    /**
+     * Class constructor
+     * @param url - adresa JDBC a bazei de date
+     */
+    public TemaJDBCRepo(String url) {
+        super(url, "tema", "nrTema", new String[]{"descriere", "deadline", "primire"},
+                "CREATE TABLE IF NOT EXISTS tema (nrTema VARCHAR PRIMARY KEY, descriere VARCHAR, deadline INT, primire INT)");
+    }
+
+    /**
+     * Extrage informatia despre tema din randul curent
+     * @param resultSet - rezultatul, pozitionat pe rand
+     * @return tema
+     */
+    @Override
+    public Tema extractEntity(ResultSet resultSet) throws SQLException {
+        return new Tema(resultSet.getString("nrTema"), resultSet.getString("descriere"),
+                resultSet.getInt("deadline"), resultSet.getInt("primire"));
+    }
+
+    /**
+     * Completeaza parametrii instructiunii cu coloanele unei teme
+     * @param statement - instructiunea
+     * @param tema - tema
+     */
+    @Override
+    public void writeEntity(PreparedStatement statement, Tema tema) throws SQLException {
+        statement.setString(1, tema.getDescriere());
+        statement.setInt(2, tema.getDeadline());
+        statement.setInt(3, tema.getPrimire());
+    }
+}
@@ -1,9 +1,13 @@
 package repository;
 
 import domain.Tema;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
 
 public class TemaXMLRepo extends AbstractXMLRepository<String, Tema> {
 
@@ -16,52 +20,54 @@ public class TemaXMLRepo extends AbstractXMLRepository<String, Tema> {
     }
 
     /**
-     * Extrage informatia despre tema dintr-un elem XML
-     * @param element - stringul din care ia datele temei
+     * Extrage informatia despre tema din campurile unui elem XML
+     * @param campuri - campurile elementului din care ia datele temei
      * @return tema
      */
     @Override
-    public Tema extractEntity(Element element) {
-        String nrTema = element.getAttribute("nrTema");
-        NodeList nods = element.getChildNodes();
-        String descriere =element.getElementsByTagName("descriere")
-                .item(0)
-                .getTextContent();
-        String deadline =element.getElementsByTagName("deadline")
-                .item(0)
-                .getTextContent();
-        String primire =element.getElementsByTagName("primire")
-                .item(0)
-                .getTextContent();
-
-        return new Tema(nrTema, descriere, Integer.parseInt(deadline), Integer.parseInt(primire));
+    public Tema extractEntity(Map<String, String> campuri) {
+        return new Tema(campuri.get("nrTema"), campuri.get("descriere"),
+                Integer.parseInt(campuri.get("deadline")), Integer.parseInt(campuri.get("primire")));
     }
 
     /**
-     * Creeaza un element XML dintr o entitate Tema
-     * @param document
-     * @param entity
-     * @return
+     * Scrie o tema ca element XML
+     * @param writer - destinatia
+     * @param entity - tema
      */
     @Override
-    public Element createElementfromEntity(Document document, Tema entity) {
-        Element e = document.createElement("nrTema");
-        e.setAttribute("nrTema", entity.getID());
-
-        Element descriere = document.createElement("descriere");
-        descriere.setTextContent(entity.getDescriere());
-        e.appendChild(descriere);
-
-        Element deadline = document.createElement("deadline");
-        Integer g=entity.getDeadline();
-        deadline.setTextContent(g.toString());
-        e.appendChild(deadline);
+    public void writeEntity(XMLStreamWriter writer, Tema entity) throws XMLStreamException {
+        writer.writeStartElement("nrTema");
+        writer.writeAttribute("nrTema", entity.getID());
+        writeField(writer, "descriere", entity.getDescriere());
+        writeField(writer, "deadline", String.valueOf(entity.getDeadline()));
+        writeField(writer, "primire", String.valueOf(entity.getPrimire()));
+        writer.writeEndElement();
+    }
 
-        Element primire = document.createElement("primire");
-        Integer p=entity.getPrimire();
-        primire.setTextContent(p.toString());
-        e.appendChild(primire);
+    /**
+     * Scrie o tema in format binar
+     * @param out - destinatia
+     * @param entity - tema
+     */
+    @Override
+    public void writeBinary(DataOutput out, Tema entity) throws IOException {
+        BinarySnapshot.writeString(out, entity.getID());
+        BinarySnapshot.writeString(out, entity.getDescriere());
+        out.writeInt(entity.getDeadline());
+        out.writeInt(entity.getPrimire());
+    }
 
-        return e;
+    /**
+     * Citeste o tema scrisa de writeBinary
+     * @param buffer - sursa
+     * @return tema
+     */
+    @Override
+    public Tema readBinary(ByteBuffer buffer) {
+        String nrTema = BinarySnapshot.readString(buffer);
+        String descriere = BinarySnapshot.readString(buffer);
+        int deadline = buffer.getInt();
+        return new Tema(nrTema, descriere, deadline, buffer.getInt());
     }
 }
@@ -0,0 +1,116 @@
+package repository;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistare amanata: modificarile doar marcheaza repository-ul ca modificat, iar un fir de executie din fundal
+ * le scrie pe toate odata, la fiecare interval sau cand s-au adunat batchSize modificari.
+ * O scriere esuata in fundal este afisata, iar modificarile raman in asteptare pana la urmatoarea incercare;
+ * flush si close arunca exceptia scrierii esuate.
+ */
+class WriteBehindScheduler {
+    private final Runnable scriere;
+    private final int batchSize;
+    private final ScheduledExecutorService executor;
+    /**
+     * Serializeaza scrierile: o scriere preia modificarile in asteptare si le scrie inainte ca alta sa inceapa
+     */
+    private final Object scriereInCurs = new Object();
+    private int modificari;
+    /**
+     * O scriere a unui lot este in coada executorului si nu a inceput inca
+     */
+    private boolean programat;
+
+    /**
+     * Class constructor
+     * @param nume - numele firului de executie
+     * @param scriere - scrie in fisier toate modificarile din memorie; arunca o exceptie daca nu reuseste
+     * @param intervalMillis - intervalul dintre doua scrieri
+     * @param batchSize - numarul de modificari dupa care se scrie fara a astepta intervalul
+     */
+    WriteBehindScheduler(String nume, Runnable scriere, long intervalMillis, int batchSize) {
+        this.scriere = scriere;
+        this.batchSize = batchSize;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, nume);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::scrieInFundal, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Inregistreaza modificari care trebuie scrise in fisier
+     * @param numar - numarul modificarilor
+     */
+    synchronized void markDirty(int numar) {
+        modificari += numar;
+        if (modificari >= batchSize && !programat && !executor.isShutdown()) {
+            programat = true;
+            executor.execute(this::scrieInFundal);
+        }
+    }
+
+    /**
+     * Scrie modificarile in asteptare pe firul apelantului, dupa ce se termina scrierea din fundal aflata in curs;
+     * la revenire, toate modificarile inregistrate inainte de apel sunt in fisier
+     * @throws RuntimeException daca scrierea nu reuseste (modificarile raman in asteptare)
+     */
+    void flush() {
+        scrieModificari();
+    }
+
+    /**
+     * Opreste firul din fundal si scrie modificarile in asteptare
+     * @throws RuntimeException daca scrierea nu reuseste
+     */
+    void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scrieModificari();
+    }
+
+    /**
+     * Scrierea din fundal: o exceptie ar opri definitiv executia periodica, deci este doar afisata,
+     * iar modificarile sunt scrise la urmatoarea incercare. Modificarile marcate dupa ce scrierea a inceput
+     * pot programa o noua scriere, deci in coada este cel mult una.
+     */
+    private void scrieInFundal() {
+        synchronized (this) {
+            programat = false;
+        }
+        try {
+            scrieModificari();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void scrieModificari() {
+        synchronized (scriereInCurs) {
+            int numar;
+            synchronized (this) {
+                numar = modificari;
+                modificari = 0;
+            }
+            if (numar == 0) {
+                return;
+            }
+            try {
+                scriere.run();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    modificari += numar;
+                }
+                throw e;
+            }
+        }
+    }
+}
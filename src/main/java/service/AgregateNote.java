@@ -0,0 +1,316 @@
+package service;
+
+import domain.Nota;
+import domain.Student;
+import domain.Tema;
+import repository.CrudRepository;
+import repository.RepositoryListener;
+import utils.IntHashMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Numarul, suma, minimul, maximul si numarul notelor de promovare, pe student, pe tema si pe grupa,
+ * actualizate la fiecare modificare a repository-urilor (salvarea, modificarea sau stergerea unei note,
+ * modificarea grupei sau stergerea unui student, stergerea unei teme). Notele studentilor si temelor sterse
+ * nu mai sunt luate in calcul. Grupele sunt cheile unui IntHashMap, fara obiecte Integer.
+ * Minimul si maximul nu pot fi actualizate la stergerea notei minime sau maxime; in acest caz sunt
+ * recalculate la urmatoarea interogare, din notele studentului sau ale temei, respectiv din studentii grupei,
+ * fara a citi repository-urile.
+ */
+final class AgregateNote {
+    private static final double PROMOVARE = 5.0;
+    private static final int FARA_GRUPA = Integer.MIN_VALUE;
+
+    /**
+     * Valorile agregate ale unui grup de note
+     */
+    private static final class Agregat {
+        private int numar;
+        private double suma;
+        private int promovate;
+        private double minim = Double.POSITIVE_INFINITY;
+        private double maxim = Double.NEGATIVE_INFINITY;
+        private boolean extremeValide = true;
+
+        void adauga(double nota) {
+            numar++;
+            suma += nota;
+            promovate += nota >= PROMOVARE ? 1 : 0;
+            minim = Math.min(minim, nota);
+            maxim = Math.max(maxim, nota);
+        }
+
+        void scoate(double nota) {
+            numar--;
+            suma -= nota;
+            promovate -= nota >= PROMOVARE ? 1 : 0;
+            if (nota <= minim || nota >= maxim) {
+                extremeValide = false;
+            }
+            if (numar == 0) {
+                goleste();
+            }
+        }
+
+        void adauga(Agregat agregat) {
+            if (agregat.numar == 0) {
+                return;
+            }
+            numar += agregat.numar;
+            suma += agregat.suma;
+            promovate += agregat.promovate;
+            extremeValide &= agregat.extremeValide;
+            minim = Math.min(minim, agregat.minim);
+            maxim = Math.max(maxim, agregat.maxim);
+        }
+
+        void scoate(Agregat agregat) {
+            if (agregat.numar == 0) {
+                return;
+            }
+            numar -= agregat.numar;
+            suma -= agregat.suma;
+            promovate -= agregat.promovate;
+            extremeValide = false;
+            if (numar == 0) {
+                goleste();
+            }
+        }
+
+        void goleste() {
+            numar = 0;
+            suma = 0;
+            promovate = 0;
+            minim = Double.POSITIVE_INFINITY;
+            maxim = Double.NEGATIVE_INFINITY;
+            extremeValide = true;
+        }
+
+        void recalculeazaExtreme(Iterable<Intrare> note) {
+            minim = Double.POSITIVE_INFINITY;
+            maxim = Double.NEGATIVE_INFINITY;
+            for (Intrare intrare : note) {
+                minim = Math.min(minim, intrare.nota);
+                maxim = Math.max(maxim, intrare.nota);
+            }
+            extremeValide = true;
+        }
+
+        StatisticaNote statistica() {
+            return new StatisticaNote(numar, suma, minim, maxim, promovate);
+        }
+    }
+
+    /**
+     * Notele si valorile agregate ale unui student sau ale unei teme
+     */
+    private static final class Nod {
+        private final Agregat agregat = new Agregat();
+        private final Set<Intrare> note = new HashSet<>();
+        private int grupa = FARA_GRUPA;
+    }
+
+    /**
+     * Studentii unei grupe si valorile agregate ale notelor lor
+     */
+    private static final class Grupa {
+        private final Agregat agregat = new Agregat();
+        private final Set<Nod> studenti = new HashSet<>();
+    }
+
+    /**
+     * Valoarea unei note in momentul in care a fost adaugata
+     */
+    private static final class Intrare {
+        private final String id;
+        private final Nod student;
+        private final Nod tema;
+        private final double nota;
+
+        private Intrare(String id, Nod student, Nod tema, double nota) {
+            this.id = id;
+            this.student = student;
+            this.tema = tema;
+            this.nota = nota;
+        }
+    }
+
+    private final Map<String, Nod> studenti = new HashMap<>();
+    private final Map<String, Nod> teme = new HashMap<>();
+    private final IntHashMap<Grupa> grupe = new IntHashMap<>();
+    private final Map<String, Intrare> note = new HashMap<>();
+
+    /**
+     * Class constructor; se inregistreaza la repository-uri, apoi calculeaza valorile din datele existente
+     * @param studenti - repository student
+     * @param teme - repository tema
+     * @param note - repository nota
+     */
+    AgregateNote(CrudRepository<String, Student> studenti, CrudRepository<String, Tema> teme, CrudRepository<String, Nota> note) {
+        studenti.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(Student entity) {
+                adaugaStudent(entity);
+            }
+
+            @Override
+            public void onUpdate(Student vechi, Student nou) {
+                adaugaStudent(nou);
+            }
+
+            @Override
+            public void onDelete(Student entity) {
+                stergeStudent(entity.getID());
+            }
+        });
+        teme.addListener(new RepositoryListener<>() {
+            @Override
+            public void onDelete(Tema entity) {
+                stergeTema(entity.getID());
+            }
+        });
+        note.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(Nota entity) {
+                adaugaNota(entity);
+            }
+
+            @Override
+            public void onUpdate(Nota vechi, Nota nou) {
+                adaugaNota(nou);
+            }
+
+            @Override
+            public void onDelete(Nota entity) {
+                scoateNota(entity.getID());
+            }
+        });
+        studenti.findAll().forEach(this::adaugaStudent);
+        note.findAll().forEach(this::adaugaNota);
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return statisticile notelor studentului
+     */
+    synchronized StatisticaNote student(String idStudent) {
+        Nod nod = studenti.get(idStudent);
+        return nod == null ? new Agregat().statistica() : extreme(nod).statistica();
+    }
+
+    /**
+     * @param idTema - id-ul temei
+     * @return statisticile notelor date la tema
+     */
+    synchronized StatisticaNote tema(String idTema) {
+        Nod nod = teme.get(idTema);
+        return nod == null ? new Agregat().statistica() : extreme(nod).statistica();
+    }
+
+    /**
+     * @param grupa - grupa
+     * @return statisticile notelor studentilor din grupa
+     */
+    synchronized StatisticaNote grupa(int grupa) {
+        Grupa intrare = grupe.get(grupa);
+        if (intrare == null) {
+            return new Agregat().statistica();
+        }
+        Agregat agregat = intrare.agregat;
+        if (!agregat.extremeValide) {
+            agregat.minim = Double.POSITIVE_INFINITY;
+            agregat.maxim = Double.NEGATIVE_INFINITY;
+            for (Nod student : intrare.studenti) {
+                if (student.agregat.numar > 0) {
+                    extreme(student);
+                    agregat.minim = Math.min(agregat.minim, student.agregat.minim);
+                    agregat.maxim = Math.max(agregat.maxim, student.agregat.maxim);
+                }
+            }
+            agregat.extremeValide = true;
+        }
+        return agregat.statistica();
+    }
+
+    private synchronized void adaugaStudent(Student student) {
+        Nod nod = studenti.computeIfAbsent(student.getID(), id -> new Nod());
+        if (nod.grupa == student.getGrupa()) {
+            return;
+        }
+        scoateDinGrupa(nod);
+        nod.grupa = student.getGrupa();
+        Grupa grupa = grupe.computeIfAbsent(nod.grupa, cheie -> new Grupa());
+        grupa.studenti.add(nod);
+        grupa.agregat.adauga(nod.agregat);
+    }
+
+    private void scoateDinGrupa(Nod nod) {
+        Grupa grupa = nod.grupa == FARA_GRUPA ? null : grupe.get(nod.grupa);
+        if (grupa != null) {
+            grupa.studenti.remove(nod);
+            grupa.agregat.scoate(nod.agregat);
+            if (grupa.studenti.isEmpty()) {
+                grupe.remove(nod.grupa);
+            }
+        }
+        nod.grupa = FARA_GRUPA;
+    }
+
+    private synchronized void stergeStudent(String idStudent) {
+        Nod nod = studenti.get(idStudent);
+        if (nod != null) {
+            new ArrayList<>(nod.note).forEach(intrare -> scoateNota(intrare.id));
+            scoateDinGrupa(nod);
+            studenti.remove(idStudent);
+        }
+    }
+
+    private synchronized void stergeTema(String idTema) {
+        Nod nod = teme.get(idTema);
+        if (nod != null) {
+            new ArrayList<>(nod.note).forEach(intrare -> scoateNota(intrare.id));
+            teme.remove(idTema);
+        }
+    }
+
+    private synchronized void adaugaNota(Nota nota) {
+        scoateNota(nota.getID());
+        Nod student = studenti.computeIfAbsent(nota.getIdStudent(), id -> new Nod());
+        Nod tema = teme.computeIfAbsent(nota.getIdTema(), id -> new Nod());
+        Intrare intrare = new Intrare(nota.getID(), student, tema, nota.getNota());
+        note.put(intrare.id, intrare);
+        student.note.add(intrare);
+        tema.note.add(intrare);
+        student.agregat.adauga(intrare.nota);
+        tema.agregat.adauga(intrare.nota);
+        if (student.grupa != FARA_GRUPA) {
+            grupe.get(student.grupa).agregat.adauga(intrare.nota);
+        }
+    }
+
+    private synchronized void scoateNota(String id) {
+        Intrare intrare = note.remove(id);
+        if (intrare == null) {
+            return;
+        }
+        intrare.student.note.remove(intrare);
+        intrare.tema.note.remove(intrare);
+        intrare.student.agregat.scoate(intrare.nota);
+        intrare.tema.agregat.scoate(intrare.nota);
+        if (intrare.student.grupa != FARA_GRUPA) {
+            grupe.get(intrare.student.grupa).agregat.scoate(intrare.nota);
+        }
+    }
+
+    private static Agregat extreme(Nod nod) {
+        if (!nod.agregat.extremeValide) {
+            nod.agregat.recalculeazaExtreme(nod.note);
+        }
+        return nod.agregat;
+    }
+}
@@ -0,0 +1,212 @@
+package service;
+
+import domain.Nota;
+import repository.LinieCSV;
+import validation.ValidationException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Citeste notele dintr-un fisier de import, una cate una, fara a incarca fisierul in memorie.
+ * Fisierele .xml au formatul din Note.xml (elemente nota cu idStudent, idTema, notaProf, dataCurenta si,
+ * optional, penalizare), celelalte formatul din Note.txt (idStudent,idTema,nota,an-luna-zi[,penalizare]).
+ * Nota unei inregistrari cu penalizare este deja penalizata; penalizarea este pastrata in nota citita.
+ * Inregistrarile care nu pot fi citite sunt intoarse cu motivul respingerii, fara a opri importul.
+ */
+final class ImportNote implements AutoCloseable {
+
+    /**
+     * O nota citita din fisier sau motivul pentru care nu a putut fi citita
+     */
+    static final class Inregistrare {
+        final String sursa;
+        final Nota nota;
+        String eroare;
+
+        Inregistrare(String sursa, Nota nota, String eroare) {
+            this.sursa = sursa;
+            this.nota = nota;
+            this.eroare = eroare;
+        }
+    }
+
+    private final BufferedReader csv;
+    private final InputStream inputStream;
+    private final XMLStreamReader xml;
+    private int numar;
+    private int adancime;
+    private Inregistrare urmatoarea;
+
+    /**
+     * Class constructor
+     * @param fisier - fisierul de import
+     */
+    ImportNote(Path fisier) {
+        try {
+            if (fisier.toString().endsWith(".xml")) {
+                csv = null;
+                inputStream = Files.newInputStream(fisier);
+                xml = XMLInputFactory.newInstance().createXMLStreamReader(inputStream);
+            } else {
+                csv = Files.newBufferedReader(fisier, StandardCharsets.UTF_8);
+                inputStream = null;
+                xml = null;
+            }
+        } catch (IOException | XMLStreamException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * @return true daca mai exista inregistrari
+     */
+    boolean hasNext() {
+        if (urmatoarea == null) {
+            urmatoarea = xml != null ? nextXml() : nextCsv();
+        }
+        return urmatoarea != null;
+    }
+
+    /**
+     * @return urmatoarea inregistrare
+     */
+    Inregistrare next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Inregistrare inregistrare = urmatoarea;
+        urmatoarea = null;
+        return inregistrare;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (csv != null) {
+                csv.close();
+            } else {
+                xml.close();
+                inputStream.close();
+            }
+        } catch (IOException | XMLStreamException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    private Inregistrare nextCsv() {
+        try {
+            String linie;
+            do {
+                linie = csv.readLine();
+                numar++;
+            } while (linie != null && linie.trim().isEmpty());
+            if (linie == null) {
+                return null;
+            }
+            String sursa = "linia " + numar + ": " + linie;
+            try {
+                LinieCSV campuri = new LinieCSV(linie);
+                String idStudent = campuri.nextString();
+                String idTema = campuri.nextString();
+                double nota = campuri.nextDouble();
+                LocalDate data = campuri.nextDate();
+                double penalizare = campuri.hasNext() ? campuri.nextDouble() : 0;
+                return new Inregistrare(sursa, new Nota(idStudent + "#" + idTema, idStudent, idTema, nota, data, penalizare), null);
+            } catch (RuntimeException exception) {
+                return new Inregistrare(sursa, null, "Format invalid!");
+            }
+        } catch (IOException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    private Inregistrare nextXml() {
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (adancime == 1) {
+                        numar++;
+                        return readXml();
+                    }
+                    adancime++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    adancime--;
+                }
+            }
+            return null;
+        } catch (XMLStreamException exception) {
+            throw new ValidationException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Citeste elementul curent; cititorul ramane la adancimea radacinii, pe tag-ul de inchidere al elementului.
+     * Un camp care contine alte elemente nu are valoare, deci nota este respinsa daca acesta este un camp folosit;
+     * campurile necunoscute sunt ignorate.
+     */
+    private Inregistrare readXml() throws XMLStreamException {
+        Map<String, String> campuri = new HashMap<>();
+        int depth = 1;
+        while (depth > 0) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                campuri.put(xml.getLocalName(), readText());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        String sursa = "nota " + numar + ": " + campuri;
+        try {
+            String idStudent = campuri.get("idStudent");
+            String idTema = campuri.get("idTema");
+            double nota = Double.parseDouble(campuri.get("notaProf"));
+            String[] d = campuri.get("dataCurenta").split("-");
+            LocalDate data = LocalDate.of(Integer.parseInt(d[0]), Integer.parseInt(d[1]), Integer.parseInt(d[2]));
+            double penalizare = campuri.containsKey("penalizare") ? Double.parseDouble(campuri.get("penalizare")) : 0;
+            if (idStudent == null || idTema == null) {
+                return new Inregistrare(sursa, null, "Format invalid!");
+            }
+            return new Inregistrare(sursa, new Nota(idStudent + "#" + idTema, idStudent, idTema, nota, data, penalizare), null);
+        } catch (RuntimeException exception) {
+            return new Inregistrare(sursa, null, "Format invalid!");
+        }
+    }
+
+    /**
+     * Citeste textul elementului curent, sarind peste elementele continute;
+     * cititorul ramane pe tag-ul de inchidere al elementului
+     * @return textul sau null daca elementul contine alte elemente
+     */
+    private String readText() throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        boolean simplu = true;
+        int depth = 1;
+        while (depth > 0) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                simplu = false;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (depth == 1 && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE)) {
+                text.append(xml.getText());
+            }
+        }
+        return simplu ? text.toString() : null;
+    }
+}
@@ -0,0 +1,38 @@
+package service;
+
+/**
+ * Rezultatul unui import de note
+ */
+public class RaportImport {
+    private final int acceptate;
+    private final int respinse;
+
+    /**
+     * Class constructor
+     * @param acceptate - numarul notelor salvate
+     * @param respinse - numarul inregistrarilor respinse (scrise in raportul de respingere)
+     */
+    public RaportImport(int acceptate, int respinse) {
+        this.acceptate = acceptate;
+        this.respinse = respinse;
+    }
+
+    /**
+     * @return numarul notelor salvate
+     */
+    public int getAcceptate() {
+        return acceptate;
+    }
+
+    /**
+     * @return numarul inregistrarilor respinse
+     */
+    public int getRespinse() {
+        return respinse;
+    }
+
+    @Override
+    public String toString() {
+        return "Note importate: " + acceptate + ", respinse: " + respinse;
+    }
+}
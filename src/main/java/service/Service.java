@@ -1,9 +1,13 @@
 package service;
 
-import curent.Curent;
+import curent.CalendarAcademic;
 import domain.Nota;
 import domain.Student;
 import domain.Tema;
+import feedback.Feedback;
+import feedback.FeedbackSink;
+import feedback.FeedbackStore;
+import feedback.FeedbackWriter;
 
 import repository.*;
 import validation.NotaValidator;
@@ -12,25 +16,50 @@ import validation.TemaValidator;
 import validation.ValidationException;
 
 import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
-
-import static java.time.temporal.ChronoUnit.DAYS;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Clasa Service
  */
 public class Service {
     //private StudentFileRepository studentFileRepository;
-    private StudentXMLRepo studentFileRepository;
+    private StudentRepository studentFileRepository;
     private StudentValidator studentValidator;
     //private TemaFileRepository temaFileRepository;
-    private TemaXMLRepo temaFileRepository;
+    private CrudRepository<String, Tema> temaFileRepository;
     private TemaValidator temaValidator;
     //private NotaFileRepository notaFileRepository;
-    private NotaXMLRepo notaFileRepository;
+    private NotaRepository notaFileRepository;
     private NotaValidator notaValidator;
+    private StorageEngine storageEngine;
+    private FeedbackSink feedbackSink;
+    private FeedbackStore feedbackStore;
+    private Path folderFeedback;
+    private AgregateNote agregate;
+
+    /**
+     * Folderul in care este memorat feedback-ul cand Service nu primeste un mediu de stocare
+     */
+    private static final String FOLDER_IMPLICIT = "fisiere";
+
+    /**
+     * Numarul de note citite, validate si salvate impreuna la import
+     */
+    private static final int LOT_IMPORT = 10_000;
+
+    /**
+     * Punctele scazute dintr-o nota predata cu o saptamana dupa deadline
+     */
+    private static final double PENALIZARE = 2.5;
 
     /**
      * Class Constructor
@@ -42,7 +71,7 @@ public class Service {
      * @param notaValidator - validator nota
      */
     //public Service(StudentFileRepository studentFileRepository, StudentValidator studentValidator, TemaFileRepository temaFileRepository, TemaValidator temaValidator, NotaFileRepository notaFileRepository, NotaValidator notaValidator) {
-    public Service(StudentXMLRepo studentFileRepository, StudentValidator studentValidator, TemaXMLRepo temaFileRepository, TemaValidator temaValidator, NotaXMLRepo notaFileRepository, NotaValidator notaValidator) {
+    public Service(StudentRepository studentFileRepository, StudentValidator studentValidator, CrudRepository<String, Tema> temaFileRepository, TemaValidator temaValidator, NotaRepository notaFileRepository, NotaValidator notaValidator) {
 
         this.studentFileRepository = studentFileRepository;
         this.studentValidator = studentValidator;
@@ -50,6 +79,77 @@ public class Service {
         this.temaValidator = temaValidator;
         this.notaFileRepository = notaFileRepository;
         this.notaValidator = notaValidator;
+        this.agregate = new AgregateNote(studentFileRepository, temaFileRepository, notaFileRepository);
+        this.folderFeedback = Paths.get(FOLDER_IMPLICIT);
+    }
+
+    /**
+     * Class Constructor
+     * @param storageEngine - mediul de stocare, ale carui repository-uri sunt folosite cu validatorii impliciti;
+     *                      feedback-ul este memorat in folderul acestuia
+     */
+    public Service(StorageEngine storageEngine) {
+        this(storageEngine.studenti(), new StudentValidator(), storageEngine.teme(), new TemaValidator(),
+                storageEngine.note(), new NotaValidator(storageEngine.studenti(), storageEngine.teme()));
+        this.storageEngine = storageEngine;
+        this.folderFeedback = storageEngine.folder();
+    }
+
+    /**
+     * Class Constructor
+     * @param storageEngine - mediul de stocare, ale carui repository-uri sunt folosite cu validatorii impliciti
+     * @param feedbackSink - destinatia feedback-ului dat la adaugarea notelor; getFeedback poate fi folosit
+     *                     doar daca aceasta este un FeedbackStore
+     */
+    public Service(StorageEngine storageEngine, FeedbackSink feedbackSink) {
+        this(storageEngine);
+        this.feedbackSink = feedbackSink;
+        this.feedbackStore = feedbackSink instanceof FeedbackStore ? (FeedbackStore) feedbackSink : null;
+    }
+
+    /**
+     * Destinatia implicita a feedback-ului (un FeedbackStore din folderul de feedback, scris asincron)
+     * este deschisa la prima folosire
+     * @return destinatia feedback-ului
+     */
+    private synchronized FeedbackSink feedbackSink() {
+        if (feedbackSink == null) {
+            feedbackStore = new FeedbackStore(folderFeedback);
+            feedbackSink = new FeedbackWriter(feedbackStore);
+        }
+        return feedbackSink;
+    }
+
+    /**
+     * Persista feedback-ul si modificarile a caror scriere a fost amanata de mediul de stocare
+     */
+    public void flush() {
+        FeedbackSink sink;
+        synchronized (this) {
+            sink = feedbackSink;
+        }
+        if (sink != null) {
+            sink.flush();
+        }
+        if (storageEngine != null) {
+            storageEngine.flush();
+        }
+    }
+
+    /**
+     * Persista feedback-ul si modificarile in asteptare si inchide mediul de stocare
+     */
+    public void close() {
+        FeedbackSink sink;
+        synchronized (this) {
+            sink = feedbackSink;
+        }
+        if (sink != null) {
+            sink.close();
+        }
+        if (storageEngine != null) {
+            storageEngine.close();
+        }
     }
 
     /**
@@ -63,7 +163,7 @@ public class Service {
     }
 
     /**
-     * Sterge un student
+     * Sterge un student si notele lui; notele sunt gasite prin indexul dupa student si sterse intr-un singur lot
      * @param id - id-ul studentului
      * @return studentul daca acesta a fost sters sau null daca studentul nu exista
      */
@@ -71,7 +171,11 @@ public class Service {
         if(id == null || id.equals("")) {
             throw new ValidationException("Id-ul nu poate fi null!");
         }
-        return studentFileRepository.delete(id);
+        Student student = studentFileRepository.delete(id);
+        if(student != null){
+            deleteNote(notaFileRepository.findByStudent(id));
+        }
+        return student;
     }
 
     /**
@@ -103,6 +207,38 @@ public class Service {
         return studentFileRepository.findAll();
     }
 
+    /**
+     * @param grupa - grupa
+     * @return studentii din grupa
+     */
+    public List<Student> getStudentiGrupa(int grupa){
+        return studentFileRepository.findByGrupa(grupa);
+    }
+
+    /**
+     * @param grupa - grupa
+     * @return numarul studentilor din grupa
+     */
+    public int countStudentiGrupa(int grupa){
+        return studentFileRepository.countByGrupa(grupa);
+    }
+
+    /**
+     * @return grupele care au cel putin un student, in ordine crescatoare
+     */
+    public int[] getGrupe(){
+        return studentFileRepository.findGrupe();
+    }
+
+    /**
+     * @param grupa - grupa
+     * @return notele studentilor din grupa, student cu student
+     */
+    public Stream<Nota> getNoteGrupa(int grupa){
+        return studentFileRepository.findByGrupa(grupa).stream()
+                .flatMap(student -> notaFileRepository.findByStudent(student.getID()).stream());
+    }
+
     /**
      * Adauga o tema noua
      * @param tema  - tema pe care o adauga
@@ -114,7 +250,7 @@ public class Service {
     }
 
     /**
-     * Sterge o tema
+     * Sterge o tema si notele date la ea; notele sunt gasite prin indexul dupa tema si sterse intr-un singur lot
      * @param nrTema - nr-ul temei
      * @return tema daca aceasta a fost stearsa sau null daca tema nu exista
      */
@@ -122,7 +258,11 @@ public class Service {
         if(nrTema == null || nrTema.equals("")) {
             throw new ValidationException("Id-ul nu poate fi null!");
         }
-        return temaFileRepository.delete(nrTema);
+        Tema tema = temaFileRepository.delete(nrTema);
+        if(tema != null){
+            deleteNote(notaFileRepository.findByTema(nrTema));
+        }
+        return tema;
     }
 
     /**
@@ -137,13 +277,13 @@ public class Service {
     }
 
     /**
-     * Modifica o tema
+     * Modifica o tema si recalculeaza penalizarile notelor date la tema
      * @param tema - noua tema
      * @return tema daca s-a facut modificarea sau null daca acesta nu exisra
      */
     public Tema updateTema(Tema tema){
         temaValidator.validate(tema);
-        return temaFileRepository.update(tema);
+        return modificaTema(tema);
     }
 
     /**
@@ -163,28 +303,90 @@ public class Service {
         notaValidator.validate(nota);
         Student student = studentFileRepository.findOne(nota.getIdStudent());
         Tema tema = temaFileRepository.findOne(nota.getIdTema());
-        int predare = calculeazaSPredare(nota.getData());
-        if(predare != tema.getDeadline()){
-            if (predare-tema.getDeadline() == 1){
-                nota.setNota(nota.getNota()-2.5);
-            }
-            else{
-                throw new ValidationException("Studentul nu mai poate preda aceasta tema!");
-            }
-        }
+        int predare = aplicaPenalizare(nota, tema);
         notaFileRepository.save(nota);
-        String filename = "fisiere/" + student.getNume() + ".txt";
-        try(BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(filename, true))){
-            bufferedWriter.write("\nTema: " + tema.getID());
-            bufferedWriter.write("\nNota: " + nota.getNota());
-            bufferedWriter.write("\nPredata in saptamana: " + predare);
-            bufferedWriter.write("\nDeadline: " + tema.getDeadline());
-            bufferedWriter.write("\nFeedback: " +feedback);
-            bufferedWriter.newLine();
-        } catch (IOException exception){
+        feedbackSink().write(new Feedback(student.getID(), student.getNume(), tema.getID(), nota.getNota(), predare, tema.getDeadline(), feedback));
+        return nota.getNota();
+    }
+
+    /**
+     * Importa notele dintr-un fisier (formatul din Note.xml pentru fisierele .xml, altfel cel din Note.txt).
+     * Fisierul este citit in loturi; notele unui lot sunt validate in paralel, li se aplica penalizarea
+     * pentru intarziere ca in addNota, iar cele acceptate sunt salvate impreuna. Notele importate nu au feedback.
+     * @param sursa - fisierul cu note
+     * @param raport - fisierul in care se scrie fiecare inregistrare respinsa, cu motivul respingerii
+     * @return numarul notelor acceptate si al celor respinse
+     */
+    public RaportImport importNote(Path sursa, Path raport){
+        if(sursa == null || raport == null){
+            throw new ValidationException("Fisierul nu poate fi null!");
+        }
+        int acceptate = 0;
+        int respinse = 0;
+        try (ImportNote importNote = new ImportNote(sursa);
+             BufferedWriter respingeri = Files.newBufferedWriter(raport, StandardCharsets.UTF_8)) {
+            List<ImportNote.Inregistrare> lot = new ArrayList<>(LOT_IMPORT);
+            while (importNote.hasNext()) {
+                lot.add(importNote.next());
+                if (lot.size() == LOT_IMPORT || !importNote.hasNext()) {
+                    lot.parallelStream().filter(inregistrare -> inregistrare.eroare == null).forEach(inregistrare -> {
+                        try {
+                            notaValidator.validate(inregistrare.nota);
+                            aplicaPenalizare(inregistrare.nota, temaFileRepository.findOne(inregistrare.nota.getIdTema()));
+                        } catch (ValidationException exception) {
+                            inregistrare.eroare = exception.getMessage();
+                        }
+                    });
+                    List<ImportNote.Inregistrare> valide = new ArrayList<>();
+                    List<Nota> note = new ArrayList<>();
+                    for (ImportNote.Inregistrare inregistrare : lot) {
+                        if (inregistrare.eroare == null) {
+                            valide.add(inregistrare);
+                            note.add(inregistrare.nota);
+                        }
+                    }
+                    List<Nota> existente = notaFileRepository.saveAll(note);
+                    for (int i = 0; i < valide.size(); i++) {
+                        if (existente.get(i) != null) {
+                            valide.get(i).eroare = "Nota exista deja!";
+                        }
+                    }
+                    for (ImportNote.Inregistrare inregistrare : lot) {
+                        if (inregistrare.eroare == null) {
+                            acceptate++;
+                        } else {
+                            respinse++;
+                            respingeri.write(inregistrare.sursa + " -> " + inregistrare.eroare);
+                            respingeri.newLine();
+                        }
+                    }
+                    lot.clear();
+                }
+            }
+        } catch (IOException exception) {
             throw new ValidationException(exception.getMessage());
         }
-        return nota.getNota();
+        return new RaportImport(acceptate, respinse);
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return feedback-ul primit de student, in ordinea in care a fost dat
+     */
+    public List<Feedback> getFeedback(String idStudent){
+        if(idStudent == null || idStudent.equals("")){
+            throw new ValidationException("Id-ul nu poate fi null!");
+        }
+        FeedbackSink sink = feedbackSink();
+        FeedbackStore store;
+        synchronized (this) {
+            store = feedbackStore;
+        }
+        if(store == null){
+            throw new ValidationException("Feedback-ul nu este memorat!");
+        }
+        sink.flush();
+        return store.findByStudent(idStudent);
     }
 
     /**
@@ -219,34 +421,237 @@ public class Service {
     }
 
     /**
-     * Prelungeste deadline-ul unei teme
+     * @param idStudent - id-ul studentului
+     * @return notele studentului
+     */
+    public List<Nota> getNoteStudent(String idStudent){
+        if(idStudent == null || idStudent.equals("")){
+            throw new ValidationException("Id-ul nu poate fi null!");
+        }
+        return notaFileRepository.findByStudent(idStudent);
+    }
+
+    /**
+     * @param nrTema - nr-ul temei
+     * @return notele date la tema
+     */
+    public List<Nota> getNoteTema(String nrTema){
+        if(nrTema == null || nrTema.equals("")){
+            throw new ValidationException("Id-ul nu poate fi null!");
+        }
+        return notaFileRepository.findByTema(nrTema);
+    }
+
+    /**
+     * @param inceput - prima zi din interval
+     * @param sfarsit - ultima zi din interval
+     * @return notele predate in intervalul dat, in ordinea datei
+     */
+    public List<Nota> getNoteInterval(LocalDate inceput, LocalDate sfarsit){
+        if(inceput == null || sfarsit == null){
+            throw new ValidationException("Intervalul nu poate fi null!");
+        }
+        return notaFileRepository.findByData(inceput, sfarsit);
+    }
+
+    /**
+     * Cauta note dupa student, tema, intervalul datei si intervalul notei; cautarea foloseste indexul
+     * cel mai selectiv al repository-ului
+     * @param query - cautarea
+     * @return notele gasite, in ordinea datei, dupa offset si limit
+     */
+    public Stream<Nota> findNote(NotaQuery query){
+        if(query == null){
+            throw new ValidationException("Cautarea nu poate fi null!");
+        }
+        return notaFileRepository.find(query);
+    }
+
+    /**
+     * @param saptamana - o saptamana din anul universitar
+     * @return notele predate in saptamana data dupa deadline-ul temei, in ordinea datei
+     */
+    public List<Nota> getPredariIntarziate(int saptamana){
+        if(saptamana < 1){
+            throw new ValidationException("Saptamana nu este corecta!");
+        }
+        CalendarAcademic calendar = CalendarAcademic.implicit();
+        NotaQuery query = new NotaQuery().data(calendar.getWeekStart(saptamana), calendar.getWeekEnd(saptamana));
+        return notaFileRepository.find(query).filter(nota -> {
+            Tema tema = temaFileRepository.findOne(nota.getIdTema());
+            return tema != null && saptamana > tema.getDeadline();
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * @return notele predate in saptamana curenta dupa deadline-ul temei, in ordinea datei
+     */
+    public List<Nota> getPredariIntarziate(){
+        return getPredariIntarziate(CalendarAcademic.implicit().getCurrentWeek());
+    }
+
+    /**
+     * @param idStudent - id-ul studentului
+     * @return numarul, media, minimul, maximul si promovabilitatea notelor studentului
+     */
+    public StatisticaNote getStatisticaStudent(String idStudent){
+        if(idStudent == null || idStudent.equals("")){
+            throw new ValidationException("Id-ul nu poate fi null!");
+        }
+        return agregate.student(idStudent);
+    }
+
+    /**
+     * @param nrTema - nr-ul temei
+     * @return numarul, media, minimul, maximul si promovabilitatea notelor date la tema
+     */
+    public StatisticaNote getStatisticaTema(String nrTema){
+        if(nrTema == null || nrTema.equals("")){
+            throw new ValidationException("Id-ul nu poate fi null!");
+        }
+        return agregate.tema(nrTema);
+    }
+
+    /**
+     * @param grupa - grupa
+     * @return numarul, media, minimul, maximul si promovabilitatea notelor studentilor din grupa
+     */
+    public StatisticaNote getStatisticaGrupa(int grupa){
+        return agregate.grupa(grupa);
+    }
+
+    /**
+     * Prelungeste deadline-ul unei teme si recalculeaza penalizarile notelor date la tema
      * @param nrTema - nr-ul temei
      * @param deadline - noul deadline
      */
     public void prelungireDeadline(String nrTema, int deadline){
-        int diff= Curent.getCurrentWeek();
+        int diff= CalendarAcademic.implicit().getCurrentWeek();
         Tema tema = temaFileRepository.findOne(nrTema);
         if(tema == null){
             throw new ValidationException("Tema inexistenta!");
         }
         if(tema.getDeadline() >= diff) {
-            tema.setDeadline(deadline);
-            temaFileRepository.writeToFile();
+            modificaTema(new Tema(tema.getID(), tema.getDescriere(), deadline, tema.getPrimire()));
         }
         else{
             throw new ValidationException("Nu se mai poate prelungi deadline-ul!");
         }
     }
 
+    /**
+     * Sterge notele date intr-o singura operatie, astfel incat fisierul notelor este scris o singura data
+     * @param note - notele
+     */
+    private void deleteNote(List<Nota> note) {
+        if(!note.isEmpty()){
+            notaFileRepository.deleteAll(note.stream().map(Nota::getID).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Scade PENALIZARE puncte din nota initiala a notei predate cu o saptamana dupa deadline; o nota care are
+     * deja o penalizare (de exemplu, importata din Note.txt) nu este penalizata de doua ori
+     * @param nota - nota
+     * @param tema - tema notei
+     * @return saptamana in care a fost predata tema
+     * @throws ValidationException daca tema a fost predata la mai mult de o saptamana dupa deadline
+     */
+    private int aplicaPenalizare(Nota nota, Tema tema) {
+        int predare = calculeazaSPredare(nota.getData());
+        double penalizare = 0;
+        if(predare != tema.getDeadline()){
+            if (predare-tema.getDeadline() == 1){
+                penalizare = PENALIZARE;
+            }
+            else{
+                throw new ValidationException("Studentul nu mai poate preda aceasta tema!");
+            }
+        }
+        nota.setNota(nota.getNotaInitiala()-penalizare);
+        nota.setPenalizare(penalizare);
+        return predare;
+    }
+
+    /**
+     * Salveaza o tema modificata si recalculeaza penalizarile notelor date la ea
+     * @param tema - noua tema
+     * @return tema daca aceasta nu exista sau null daca s-a facut modificarea
+     */
+    private Tema modificaTema(Tema tema) {
+        Tema rezultat = temaFileRepository.update(tema);
+        if (rezultat == null) {
+            recalculeazaPenalizari(tema);
+        }
+        return rezultat;
+    }
+
+    /**
+     * Recalculeaza penalizarea notelor unei teme dupa modificarea deadline-ului (vezi
+     * {@link #recalculeazaPenalizare}). Doar notele temei sunt citite (prin indexul dupa tema), iar
+     * cele a caror penalizare se schimba sunt salvate intr-un singur lot.
+     * @param tema - tema, cu noul deadline
+     */
+    private void recalculeazaPenalizari(Tema tema) {
+        List<Nota> modificate = new ArrayList<>();
+        for (Nota nota : notaFileRepository.findByTema(tema.getID())) {
+            Nota modificata = recalculeazaPenalizare(nota, calculeazaSPredare(nota.getData()), tema.getDeadline());
+            if (modificata != null) {
+                modificate.add(modificata);
+            }
+        }
+        if (!modificate.isEmpty()) {
+            notaFileRepository.updateAll(modificate);
+        }
+    }
+
+    /**
+     * Penalizarea unei note dupa mutarea deadline-ului: nota predata dupa deadline pierde PENALIZARE puncte
+     * din nota initiala, cea predata pana la deadline nu este penalizata. Notele care nu ar mai fi primite cu
+     * noul deadline (predate la mai mult de o saptamana dupa el) au fost deja primite, deci raman, cu penalizarea
+     * o singura data.
+     * @param nota - nota
+     * @param predare - saptamana in care a fost predata tema
+     * @param deadline - noul deadline
+     * @return nota cu noua penalizare sau null daca penalizarea nu se schimba
+     */
+    static Nota recalculeazaPenalizare(Nota nota, int predare, int deadline) {
+        double penalizare = predare > deadline ? PENALIZARE : 0;
+        if (penalizare == nota.getPenalizare()) {
+            return null;
+        }
+        return new Nota(nota.getID(), nota.getIdStudent(), nota.getIdTema(),
+                nota.getNotaInitiala() - penalizare, nota.getData(), penalizare);
+    }
+
+    /**
+     * Memoreaza penalizarea notelor salvate inainte ca aceasta sa fie retinuta: o astfel de nota are
+     * penalizarea 0, dar daca a fost predata in saptamana de dupa deadline a fost primita cu PENALIZARE
+     * puncte deja scazute. Se ruleaza o singura data pe datele vechi, inainte de a modifica deadline-urile.
+     * @return numarul notelor modificate
+     */
+    public int migreazaPenalizari() {
+        List<Nota> modificate = new ArrayList<>();
+        for (Tema tema : temaFileRepository.findAll()) {
+            for (Nota nota : notaFileRepository.findByTema(tema.getID())) {
+                if (nota.getPenalizare() == 0 && calculeazaSPredare(nota.getData()) - tema.getDeadline() == 1) {
+                    modificate.add(new Nota(nota.getID(), nota.getIdStudent(), nota.getIdTema(),
+                            nota.getNota(), nota.getData(), PENALIZARE));
+                }
+            }
+        }
+        if (!modificate.isEmpty()) {
+            notaFileRepository.updateAll(modificate);
+        }
+        return modificate.size();
+    }
+
     /**
      * Calculeaza saptamana de predare
      * @param predare - data predarii unei teme
      * @return saptamana in care a fost predata tema
      */
     private int calculeazaSPredare(LocalDate predare) {
-        LocalDate startDate = Curent.getStartDate();
-        long days = DAYS.between(startDate, predare);
-        double saptamanaPredare = Math.ceil((double)days/7);
-        return (int)saptamanaPredare;
+        return CalendarAcademic.implicit().getWeek(predare);
     }
 }
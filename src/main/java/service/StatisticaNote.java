@@ -0,0 +1,72 @@
+package service;
+
+/**
+ * Statisticile notelor unui student, ale unei teme sau ale unei grupe
+ */
+public class StatisticaNote {
+    private final int numar;
+    private final double suma;
+    private final double minim;
+    private final double maxim;
+    private final int promovate;
+
+    /**
+     * Class constructor
+     * @param numar - numarul notelor
+     * @param suma - suma notelor
+     * @param minim - nota minima
+     * @param maxim - nota maxima
+     * @param promovate - numarul notelor de promovare
+     */
+    StatisticaNote(int numar, double suma, double minim, double maxim, int promovate) {
+        this.numar = numar;
+        this.suma = suma;
+        this.minim = minim;
+        this.maxim = maxim;
+        this.promovate = promovate;
+    }
+
+    /**
+     * @return numarul notelor
+     */
+    public int getNumar() {
+        return numar;
+    }
+
+    /**
+     * @return media notelor sau NaN daca nu exista note
+     */
+    public double getMedie() {
+        return numar == 0 ? Double.NaN : suma / numar;
+    }
+
+    /**
+     * @return nota minima sau NaN daca nu exista note
+     */
+    public double getMinim() {
+        return numar == 0 ? Double.NaN : minim;
+    }
+
+    /**
+     * @return nota maxima sau NaN daca nu exista note
+     */
+    public double getMaxim() {
+        return numar == 0 ? Double.NaN : maxim;
+    }
+
+    /**
+     * @return proportia notelor de promovare (cel putin 5) sau NaN daca nu exista note
+     */
+    public double getPromovabilitate() {
+        return numar == 0 ? Double.NaN : (double) promovate / numar;
+    }
+
+    @Override
+    public String toString() {
+        if (numar == 0) {
+            return "Nu exista note";
+        }
+        return String.format("Note: %d, media: %.2f, minim: %.2f, maxim: %.2f, promovabilitate: %.0f%%",
+                numar, getMedie(), minim, maxim, getPromovabilitate() * 100);
+    }
+}
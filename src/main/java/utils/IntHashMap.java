@@ -0,0 +1,165 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Tabel de dispersie cu chei int, fara obiecte Integer: cheile si valorile sunt memorate in doua tablouri
+ * paralele, cu adresare deschisa (sondare liniara). Valorile null nu sunt permise, o pozitie cu valoarea null
+ * fiind libera. Clasa nu este sincronizata.
+ * @param <V> - tipul valorilor
+ */
+public class IntHashMap<V> {
+    private static final int CAPACITATE_INITIALA = 16;
+
+    private int[] chei = new int[CAPACITATE_INITIALA];
+    private Object[] valori = new Object[CAPACITATE_INITIALA];
+    private int size;
+
+    /**
+     * @param cheie - cheia
+     * @return valoarea asociata cheii sau null daca cheia nu exista
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int cheie) {
+        int pozitie = pozitie(cheie);
+        return pozitie < 0 ? null : (V) valori[pozitie];
+    }
+
+    /**
+     * Asociaza o valoare unei chei
+     * @param cheie - cheia
+     * @param valoare - valoarea, diferita de null
+     * @return valoarea asociata anterior cheii sau null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int cheie, V valoare) {
+        if (valoare == null) {
+            throw new IllegalArgumentException("Valoarea nu poate fi null!");
+        }
+        int pozitie = pozitie(cheie);
+        if (pozitie >= 0) {
+            V veche = (V) valori[pozitie];
+            valori[pozitie] = valoare;
+            return veche;
+        }
+        insert(cheie, valoare);
+        return null;
+    }
+
+    /**
+     * @param cheie - cheia
+     * @param creeaza - creeaza valoarea daca cheia nu exista
+     * @return valoarea asociata cheii
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(int cheie, IntFunction<? extends V> creeaza) {
+        int pozitie = pozitie(cheie);
+        if (pozitie >= 0) {
+            return (V) valori[pozitie];
+        }
+        V valoare = creeaza.apply(cheie);
+        insert(cheie, valoare);
+        return valoare;
+    }
+
+    /**
+     * Sterge o cheie; cheile urmatoare din acelasi sir de sondare sunt mutate inapoi, astfel incat
+     * cautarea nu are nevoie de marcaje pentru pozitiile sterse
+     * @param cheie - cheia
+     * @return valoarea asociata cheii sau null daca cheia nu exista
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int cheie) {
+        int gol = pozitie(cheie);
+        if (gol < 0) {
+            return null;
+        }
+        V valoare = (V) valori[gol];
+        int masca = valori.length - 1;
+        for (int i = (gol + 1) & masca; valori[i] != null; i = (i + 1) & masca) {
+            int ideal = index(chei[i], masca);
+            boolean ramane = gol < i ? ideal > gol && ideal <= i : ideal > gol || ideal <= i;
+            if (!ramane) {
+                chei[gol] = chei[i];
+                valori[gol] = valori[i];
+                gol = i;
+            }
+        }
+        valori[gol] = null;
+        size--;
+        return valoare;
+    }
+
+    /**
+     * @param cheie - cheia
+     * @return true daca cheia exista
+     */
+    public boolean containsKey(int cheie) {
+        return pozitie(cheie) >= 0;
+    }
+
+    /**
+     * @return numarul cheilor
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return cheile, in ordine crescatoare
+     */
+    public int[] keys() {
+        int[] rezultat = new int[size];
+        int k = 0;
+        for (int i = 0; i < valori.length; i++) {
+            if (valori[i] != null) {
+                rezultat[k++] = chei[i];
+            }
+        }
+        Arrays.sort(rezultat);
+        return rezultat;
+    }
+
+    private int pozitie(int cheie) {
+        int masca = valori.length - 1;
+        for (int i = index(cheie, masca); valori[i] != null; i = (i + 1) & masca) {
+            if (chei[i] == cheie) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int cheie, Object valoare) {
+        if ((size + 1) * 4 > valori.length * 3) {
+            mareste();
+        }
+        int masca = valori.length - 1;
+        int i = index(cheie, masca);
+        while (valori[i] != null) {
+            i = (i + 1) & masca;
+        }
+        chei[i] = cheie;
+        valori[i] = valoare;
+        size++;
+    }
+
+    private void mareste() {
+        int[] vechiChei = chei;
+        Object[] vechiValori = valori;
+        chei = new int[vechiChei.length * 2];
+        valori = new Object[vechiValori.length * 2];
+        size = 0;
+        for (int i = 0; i < vechiValori.length; i++) {
+            if (vechiValori[i] != null) {
+                insert(vechiChei[i], vechiValori[i]);
+            }
+        }
+    }
+
+    private static int index(int cheie, int masca) {
+        int h = cheie * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & masca;
+    }
+}
@@ -0,0 +1,125 @@
+package utils;
+
+/**
+ * Tabel de dispersie cu valori int, fara obiecte Integer: cheile si valorile sunt memorate in doua tablouri
+ * paralele, cu adresare deschisa (sondare liniara). Cheile null nu sunt permise, o pozitie cu cheia null
+ * fiind libera. Clasa nu este sincronizata.
+ * @param <K> - tipul cheilor
+ */
+public class ObjectIntHashMap<K> {
+    private static final int CAPACITATE_INITIALA = 16;
+
+    private Object[] chei = new Object[CAPACITATE_INITIALA];
+    private int[] valori = new int[CAPACITATE_INITIALA];
+    private int size;
+
+    /**
+     * @param cheie - cheia
+     * @param implicit - valoarea intoarsa daca cheia nu exista
+     * @return valoarea asociata cheii sau valoarea implicita
+     */
+    public int getOrDefault(Object cheie, int implicit) {
+        int pozitie = cheie == null ? -1 : pozitie(cheie);
+        return pozitie < 0 ? implicit : valori[pozitie];
+    }
+
+    /**
+     * Asociaza o valoare unei chei
+     * @param cheie - cheia, diferita de null
+     * @param valoare - valoarea
+     */
+    public void put(K cheie, int valoare) {
+        if (cheie == null) {
+            throw new IllegalArgumentException("Cheia nu poate fi null!");
+        }
+        int pozitie = pozitie(cheie);
+        if (pozitie >= 0) {
+            valori[pozitie] = valoare;
+            return;
+        }
+        if ((size + 1) * 4 > chei.length * 3) {
+            mareste();
+        }
+        insert(cheie, valoare);
+    }
+
+    /**
+     * Sterge o cheie; cheile urmatoare din acelasi sir de sondare sunt mutate inapoi, astfel incat
+     * cautarea nu are nevoie de marcaje pentru pozitiile sterse
+     * @param cheie - cheia
+     * @return true daca cheia exista
+     */
+    public boolean remove(Object cheie) {
+        int gol = cheie == null ? -1 : pozitie(cheie);
+        if (gol < 0) {
+            return false;
+        }
+        int masca = chei.length - 1;
+        for (int i = (gol + 1) & masca; chei[i] != null; i = (i + 1) & masca) {
+            int ideal = index(chei[i], masca);
+            boolean ramane = gol < i ? ideal > gol && ideal <= i : ideal > gol || ideal <= i;
+            if (!ramane) {
+                chei[gol] = chei[i];
+                valori[gol] = valori[i];
+                gol = i;
+            }
+        }
+        chei[gol] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * @param cheie - cheia
+     * @return true daca cheia exista
+     */
+    public boolean containsKey(Object cheie) {
+        return cheie != null && pozitie(cheie) >= 0;
+    }
+
+    /**
+     * @return numarul cheilor
+     */
+    public int size() {
+        return size;
+    }
+
+    private int pozitie(Object cheie) {
+        int masca = chei.length - 1;
+        for (int i = index(cheie, masca); chei[i] != null; i = (i + 1) & masca) {
+            if (chei[i].equals(cheie)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(Object cheie, int valoare) {
+        int masca = chei.length - 1;
+        int i = index(cheie, masca);
+        while (chei[i] != null) {
+            i = (i + 1) & masca;
+        }
+        chei[i] = cheie;
+        valori[i] = valoare;
+        size++;
+    }
+
+    private void mareste() {
+        Object[] vechiChei = chei;
+        int[] vechiValori = valori;
+        chei = new Object[vechiChei.length * 2];
+        valori = new int[vechiValori.length * 2];
+        size = 0;
+        for (int i = 0; i < vechiChei.length; i++) {
+            if (vechiChei[i] != null) {
+                insert(vechiChei[i], vechiValori[i]);
+            }
+        }
+    }
+
+    private static int index(Object cheie, int masca) {
+        int h = cheie.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & masca;
+    }
+}
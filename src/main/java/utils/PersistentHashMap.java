@@ -0,0 +1,331 @@
+package utils;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Tabel de dispersie imutabil (hash array mapped trie): plus si minus intorc un tabel nou, care refoloseste
+ * toate nodurile neschimbate ale celui vechi, deci costa O(log32 n) si nu copiaza tabelul. Fiecare nod are
+ * cel mult 32 de fii, alesi de cate 5 biti din hash; cheile cu acelasi hash sunt memorate intr-o lista.
+ * Tabelul poate fi citit din mai multe fire de executie fara sincronizare. Valorile null nu sunt permise.
+ * @param <K> - tipul cheilor
+ * @param <V> - tipul valorilor
+ */
+public final class PersistentHashMap<K, V> {
+    private static final int BITI = 5;
+    private static final int MASCA = (1 << BITI) - 1;
+    private static final PersistentHashMap<?, ?> GOL = new PersistentHashMap<>(new Nod(0, new Object[0]), 0);
+
+    private final Nod radacina;
+    private final int size;
+    private final Collection<V> valori = new Valori();
+
+    /**
+     * O cheie, hash-ul ei si valoarea asociata
+     */
+    private static final class Intrare {
+        private final Object cheie;
+        private final int hash;
+        private final Object valoare;
+
+        private Intrare(Object cheie, int hash, Object valoare) {
+            this.cheie = cheie;
+            this.hash = hash;
+            this.valoare = valoare;
+        }
+    }
+
+    /**
+     * Nod intern: bitmap-ul pozitiilor ocupate si fiii lor (Intrare, Nod sau Coliziune), in ordinea pozitiilor
+     */
+    private static final class Nod {
+        private final int bitmap;
+        private final Object[] fii;
+
+        private Nod(int bitmap, Object[] fii) {
+            this.bitmap = bitmap;
+            this.fii = fii;
+        }
+    }
+
+    /**
+     * Intrarile unor chei diferite cu acelasi hash
+     */
+    private static final class Coliziune {
+        private final int hash;
+        private final Object[] intrari;
+
+        private Coliziune(int hash, Object[] intrari) {
+            this.hash = hash;
+            this.intrari = intrari;
+        }
+    }
+
+    private PersistentHashMap(Nod radacina, int size) {
+        this.radacina = radacina;
+        this.size = size;
+    }
+
+    /**
+     * @return tabelul gol
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) GOL;
+    }
+
+    /**
+     * @param cheie - cheia
+     * @return valoarea asociata cheii sau null daca cheia nu exista
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K cheie) {
+        int hash = hash(cheie);
+        Object nod = radacina;
+        for (int shift = 0; ; shift += BITI) {
+            if (nod instanceof Nod) {
+                Nod n = (Nod) nod;
+                int bit = bit(hash, shift);
+                if ((n.bitmap & bit) == 0) {
+                    return null;
+                }
+                nod = n.fii[index(n.bitmap, bit)];
+            } else if (nod instanceof Intrare) {
+                Intrare intrare = (Intrare) nod;
+                return intrare.hash == hash && intrare.cheie.equals(cheie) ? (V) intrare.valoare : null;
+            } else {
+                Coliziune coliziune = (Coliziune) nod;
+                int pozitie = cauta(coliziune, cheie);
+                return pozitie < 0 ? null : (V) ((Intrare) coliziune.intrari[pozitie]).valoare;
+            }
+        }
+    }
+
+    /**
+     * @param cheie - cheia
+     * @param valoare - valoarea, diferita de null
+     * @return un tabel in care cheia este asociata valorii
+     */
+    public PersistentHashMap<K, V> plus(K cheie, V valoare) {
+        if (valoare == null) {
+            throw new IllegalArgumentException("Valoarea nu poate fi null!");
+        }
+        int size = get(cheie) == null ? this.size + 1 : this.size;
+        Intrare intrare = new Intrare(cheie, hash(cheie), valoare);
+        return new PersistentHashMap<>((Nod) plus(radacina, intrare, 0), size);
+    }
+
+    /**
+     * @param cheie - cheia
+     * @return un tabel fara cheia respectiva (acest tabel, daca cheia nu exista)
+     */
+    public PersistentHashMap<K, V> minus(K cheie) {
+        if (get(cheie) == null) {
+            return this;
+        }
+        Object radacina = minus(this.radacina, cheie, hash(cheie), 0);
+        if (!(radacina instanceof Nod)) {
+            Intrare ramasa = (Intrare) radacina;
+            radacina = ramasa == null ? new Nod(0, new Object[0])
+                    : new Nod(bit(ramasa.hash, 0), new Object[]{ramasa});
+        }
+        return new PersistentHashMap<>((Nod) radacina, size - 1);
+    }
+
+    /**
+     * @return numarul cheilor
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return valorile tabelului, ca o colectie nemodificabila; acelasi obiect la fiecare apel
+     */
+    public Collection<V> values() {
+        return valori;
+    }
+
+    private static Object plus(Object nod, Intrare intrare, int shift) {
+        if (nod instanceof Nod) {
+            Nod n = (Nod) nod;
+            int bit = bit(intrare.hash, shift);
+            int index = index(n.bitmap, bit);
+            if ((n.bitmap & bit) == 0) {
+                Object[] fii = new Object[n.fii.length + 1];
+                System.arraycopy(n.fii, 0, fii, 0, index);
+                fii[index] = intrare;
+                System.arraycopy(n.fii, index, fii, index + 1, n.fii.length - index);
+                return new Nod(n.bitmap | bit, fii);
+            }
+            Object[] fii = n.fii.clone();
+            fii[index] = plus(n.fii[index], intrare, shift + BITI);
+            return new Nod(n.bitmap, fii);
+        }
+        if (nod instanceof Intrare) {
+            Intrare existenta = (Intrare) nod;
+            if (existenta.hash == intrare.hash && existenta.cheie.equals(intrare.cheie)) {
+                return intrare;
+            }
+            return uneste(existenta, existenta.hash, intrare, shift);
+        }
+        Coliziune coliziune = (Coliziune) nod;
+        if (coliziune.hash != intrare.hash) {
+            return uneste(coliziune, coliziune.hash, intrare, shift);
+        }
+        int pozitie = cauta(coliziune, intrare.cheie);
+        Object[] intrari;
+        if (pozitie < 0) {
+            intrari = new Object[coliziune.intrari.length + 1];
+            System.arraycopy(coliziune.intrari, 0, intrari, 0, coliziune.intrari.length);
+            intrari[coliziune.intrari.length] = intrare;
+        } else {
+            intrari = coliziune.intrari.clone();
+            intrari[pozitie] = intrare;
+        }
+        return new Coliziune(intrare.hash, intrari);
+    }
+
+    /**
+     * Pune in acelasi subarbore o intrare sau o coliziune existenta si o intrare noua, cu alta cheie
+     */
+    private static Object uneste(Object existent, int hashExistent, Intrare intrare, int shift) {
+        if (hashExistent == intrare.hash) {
+            return new Coliziune(hashExistent, new Object[]{existent, intrare});
+        }
+        int bitExistent = bit(hashExistent, shift);
+        int bitNou = bit(intrare.hash, shift);
+        if (bitExistent == bitNou) {
+            return new Nod(bitExistent, new Object[]{uneste(existent, hashExistent, intrare, shift + BITI)});
+        }
+        Object[] fii = Integer.compareUnsigned(bitExistent, bitNou) < 0
+                ? new Object[]{existent, intrare} : new Object[]{intrare, existent};
+        return new Nod(bitExistent | bitNou, fii);
+    }
+
+    /**
+     * @return subarborele fara cheie: un Nod cu cel putin doi fii sau cu un fiu care nu este Intrare,
+     * o Coliziune, o singura Intrare sau null daca nu a mai ramas nimic
+     */
+    private static Object minus(Object nod, Object cheie, int hash, int shift) {
+        if (nod instanceof Nod) {
+            Nod n = (Nod) nod;
+            int bit = bit(hash, shift);
+            int index = index(n.bitmap, bit);
+            Object fiu = minus(n.fii[index], cheie, hash, shift + BITI);
+            if (fiu != null) {
+                if (n.fii.length == 1 && fiu instanceof Intrare) {
+                    return fiu;
+                }
+                Object[] fii = n.fii.clone();
+                fii[index] = fiu;
+                return new Nod(n.bitmap, fii);
+            }
+            if (n.fii.length == 1) {
+                return null;
+            }
+            if (n.fii.length == 2 && n.fii[1 - index] instanceof Intrare) {
+                return n.fii[1 - index];
+            }
+            Object[] fii = new Object[n.fii.length - 1];
+            System.arraycopy(n.fii, 0, fii, 0, index);
+            System.arraycopy(n.fii, index + 1, fii, index, fii.length - index);
+            return new Nod(n.bitmap & ~bit, fii);
+        }
+        if (nod instanceof Intrare) {
+            return null;
+        }
+        Coliziune coliziune = (Coliziune) nod;
+        int pozitie = cauta(coliziune, cheie);
+        if (coliziune.intrari.length == 2) {
+            return coliziune.intrari[1 - pozitie];
+        }
+        Object[] intrari = new Object[coliziune.intrari.length - 1];
+        System.arraycopy(coliziune.intrari, 0, intrari, 0, pozitie);
+        System.arraycopy(coliziune.intrari, pozitie + 1, intrari, pozitie, intrari.length - pozitie);
+        return new Coliziune(coliziune.hash, intrari);
+    }
+
+    private static int cauta(Coliziune coliziune, Object cheie) {
+        for (int i = 0; i < coliziune.intrari.length; i++) {
+            if (((Intrare) coliziune.intrari[i]).cheie.equals(cheie)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int hash(Object cheie) {
+        int h = cheie.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASCA);
+    }
+
+    private static int index(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    /**
+     * Valorile tabelului, parcurse in adancime, fara copiere
+     */
+    private final class Valori extends AbstractCollection<V> {
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private final Object[][] tablouri = new Object[32 / BITI + 3][];
+                private final int[] pozitii = new int[tablouri.length];
+                private int adancime;
+                private Intrare urmatoarea;
+
+                {
+                    tablouri[0] = radacina.fii;
+                    avanseaza();
+                }
+
+                private void avanseaza() {
+                    urmatoarea = null;
+                    while (adancime >= 0) {
+                        if (pozitii[adancime] == tablouri[adancime].length) {
+                            adancime--;
+                            continue;
+                        }
+                        Object nod = tablouri[adancime][pozitii[adancime]++];
+                        if (nod instanceof Intrare) {
+                            urmatoarea = (Intrare) nod;
+                            return;
+                        }
+                        adancime++;
+                        tablouri[adancime] = nod instanceof Nod ? ((Nod) nod).fii : ((Coliziune) nod).intrari;
+                        pozitii[adancime] = 0;
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return urmatoarea != null;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public V next() {
+                    if (urmatoarea == null) {
+                        throw new NoSuchElementException();
+                    }
+                    V valoare = (V) urmatoarea.valoare;
+                    avanseaza();
+                    return valoare;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -3,11 +3,14 @@ package view;
 import domain.Nota;
 import domain.Student;
 import domain.Tema;
+import feedback.Feedback;
 import service.Service;
 import validation.ValidationException;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -72,6 +75,7 @@ public class UI {
             System.out.println("3.Cautare student");
             System.out.println("4.Modificare student");
             System.out.println("5.Afisare lista studenti");
+            System.out.println("6.Afisare studenti grupa");
             Scanner scanner = new Scanner(System.in);
             System.out.print("Introduceti comanda: ");
             int comanda = scanner.nextInt();
@@ -87,6 +91,8 @@ public class UI {
                 updateStudent();
             } else if (comanda == 5) {
                 afisareStudenti();
+            } else if (comanda == 6) {
+                afisareStudentiGrupa();
             } else {
                 System.out.println("Comanda invalida!");
             }
@@ -184,6 +190,18 @@ public class UI {
         );
     }
 
+    /**
+     * Afiseaza studentii unei grupe si statisticile notelor grupei
+     */
+    private void afisareStudentiGrupa() {
+        Scanner scanner = new Scanner(System.in);
+        System.out.print("Introduceti grupa: ");
+        int grupa = scanner.nextInt();
+        System.out.println("Studenti: " + service.countStudentiGrupa(grupa));
+        service.getStudentiGrupa(grupa).forEach(System.out::println);
+        System.out.println(service.getStatisticaGrupa(grupa));
+    }
+
     /**
      * Afiseaza comenzile pentru teme
      */
@@ -337,6 +355,10 @@ public class UI {
             System.out.println("2.Stergere nota");
             System.out.println("3.Cautare nota");
             System.out.println("4.Afisare lista note");
+            System.out.println("5.Afisare feedback student");
+            System.out.println("6.Import note din fisier");
+            System.out.println("7.Afisare predari intarziate saptamana curenta");
+            System.out.println("8.Migrare penalizari note vechi");
             Scanner scanner = new Scanner(System.in);
             System.out.print("Introduceti comanda: ");
             int comanda = scanner.nextInt();
@@ -350,6 +372,14 @@ public class UI {
                 cautareNota();
             } else if (comanda == 4) {
                 afisareNote();
+            } else if (comanda == 5) {
+                afisareFeedback();
+            } else if (comanda == 6) {
+                importNote();
+            } else if (comanda == 7) {
+                afisarePredariIntarziate();
+            } else if (comanda == 8) {
+                System.out.println("Note modificate: " + service.migreazaPenalizari());
             } else {
                 System.out.println("Comanda invalida!");
             }
@@ -429,4 +459,41 @@ public class UI {
                 System.out.println(nota)
         );
     }
+
+    /**
+     * Afiseaza feedback-ul primit de un student
+     */
+    private void afisareFeedback() {
+        Scanner scanner = new Scanner(System.in);
+        System.out.print("Introduceti id-ul studentului: ");
+        String idStudent = scanner.next();
+        List<Feedback> feedback = service.getFeedback(idStudent);
+        if (feedback.isEmpty()) {
+            System.out.println("Studentul nu are feedback!");
+        }
+        feedback.forEach(System.out::print);
+    }
+
+    /**
+     * Importa notele dintr-un fisier
+     */
+    private void importNote() {
+        Scanner scanner = new Scanner(System.in);
+        System.out.print("Introduceti fisierul cu note: ");
+        String sursa = scanner.next();
+        System.out.print("Introduceti fisierul pentru notele respinse: ");
+        String raport = scanner.next();
+        System.out.println(service.importNote(Paths.get(sursa), Paths.get(raport)));
+    }
+
+    /**
+     * Afiseaza notele predate in saptamana curenta dupa deadline
+     */
+    private void afisarePredariIntarziate() {
+        List<Nota> note = service.getPredariIntarziate();
+        if (note.isEmpty()) {
+            System.out.println("Nu exista predari intarziate!");
+        }
+        note.forEach(System.out::println);
+    }
 }
@@ -0,0 +1,59 @@
+package curent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import validation.ValidationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarAcademicTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void getWeek_matchesDayCountFormula_insideAndOutsideThePrecomputedYear() throws IOException {
+        Path fisier = folder.resolve("DataInceput.txt");
+        Files.writeString(fisier, "2022,4,30");
+        CalendarAcademic calendar = new CalendarAcademic(fisier);
+        LocalDate inceput = LocalDate.of(2022, 4, 30);
+
+        assertEquals(inceput, calendar.getStartDate());
+        assertEquals(1, calendar.getWeek(calendar.getWeekStart(1)));
+        assertEquals(7, calendar.getWeek(calendar.getWeekStart(7)));
+        assertEquals(7, calendar.getWeek(calendar.getWeekEnd(7)));
+        assertEquals(8, calendar.getWeek(calendar.getWeekEnd(7).plusDays(1)));
+        for (LocalDate data = inceput.minusDays(20); data.isBefore(inceput.plusDays(800)); data = data.plusDays(1)) {
+            int asteptata = (int) Math.ceil((double) DAYS.between(inceput, data) / 7);
+            assertEquals(asteptata, calendar.getWeek(data), data.toString());
+        }
+        calendar.close();
+    }
+
+    @Test
+    public void startDate_isReloaded_whenFileChanges() throws Exception {
+        Path fisier = folder.resolve("DataInceput.txt");
+        Files.writeString(fisier, "2022,4,30");
+        CalendarAcademic calendar = new CalendarAcademic(fisier);
+
+        Files.writeString(fisier, "2022,10,3");
+        long limita = System.currentTimeMillis() + 15000;
+        while (!calendar.getStartDate().equals(LocalDate.of(2022, 10, 3)) && System.currentTimeMillis() < limita) {
+            Thread.sleep(20);
+        }
+        assertEquals(LocalDate.of(2022, 10, 3), calendar.getStartDate());
+        assertEquals(1, calendar.getWeek(LocalDate.of(2022, 10, 9)));
+        calendar.close();
+    }
+
+    @Test
+    public void missingFile_isRejected() {
+        assertThrows(ValidationException.class, () -> new CalendarAcademic(folder.resolve("lipsa.txt")));
+    }
+}
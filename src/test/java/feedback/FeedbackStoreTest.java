@@ -0,0 +1,110 @@
+package feedback;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeedbackStoreTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void findByStudent_readsOnlyThatStudentsRecords_keyedByIdNotName() {
+        FeedbackStore store = new FeedbackStore(folder);
+        store.write(new Feedback("1", "Pop Ana", "1", 10, 1, 1, "primul"));
+        store.write(new Feedback("2", "Pop Ana", "1", 7, 2, 1, "alt student cu acelasi nume"));
+        store.write(new Feedback("1", "Pop Ana", "2", 8.5, 3, 3, "al doilea"));
+
+        List<Feedback> feedback = store.findByStudent("1");
+        assertEquals(2, feedback.size());
+        assertEquals("primul", feedback.get(0).getText());
+        assertEquals(8.5, feedback.get(1).getNota());
+        assertEquals(1, store.findByStudentAndTema("2", "1").size());
+        assertTrue(store.findByStudent("3").isEmpty());
+        store.close();
+    }
+
+    @Test
+    public void reopen_rebuildsMissingIndexEntries_andDropsTornRecord() throws IOException {
+        FeedbackStore store = new FeedbackStore(folder);
+        store.write(new Feedback("1", "Ana", "1", 10, 1, 1, "a"));
+        store.write(new Feedback("1", "Ana", "2", 9, 2, 2, "b"));
+        store.close();
+        //indexul pierde ultima intrare, iar fisierul de date are la sfarsit o inregistrare incompleta
+        Path index = folder.resolve("feedback.idx");
+        byte[] continut = Files.readAllBytes(index);
+        Files.write(index, Arrays.copyOf(continut, continut.length / 2 + 3));
+        Files.write(folder.resolve("feedback.dat"), new byte[]{0, 0, 0, 50, 1, 2}, StandardOpenOption.APPEND);
+
+        FeedbackStore reopened = new FeedbackStore(folder);
+        List<Feedback> feedback = reopened.findByStudent("1");
+        assertEquals(2, feedback.size());
+        assertEquals("b", feedback.get(1).getText());
+
+        reopened.write(new Feedback("1", "Ana", "3", 8, 3, 3, "c"));
+        reopened.close();
+        assertEquals(3, new FeedbackStore(folder).findByStudent("1").size());
+    }
+
+    @Test
+    public void reopen_dropsIndexEntriesPastTheEndOfTheDataFile() throws IOException {
+        FeedbackStore store = new FeedbackStore(folder);
+        store.write(new Feedback("1", "Ana", "1", 10, 1, 1, "a"));
+        store.close();
+        long dimensiune = Files.size(folder.resolve("feedback.dat"));
+        FeedbackStore second = new FeedbackStore(folder);
+        second.write(new Feedback("1", "Ana", "2", 9, 2, 2, "b"));
+        second.close();
+        //indexul a fost scris, dar a doua inregistrare nu a ajuns in fisierul de date
+        try (FileChannel channel = FileChannel.open(folder.resolve("feedback.dat"), StandardOpenOption.WRITE)) {
+            channel.truncate(dimensiune);
+        }
+        //si o intrare cu o pozitie mult dupa sfarsitul fisierului de date
+        try (DataOutputStream index = new DataOutputStream(Files.newOutputStream(folder.resolve("feedback.idx"), StandardOpenOption.APPEND))) {
+            index.writeUTF("1");
+            index.writeUTF("3");
+            index.writeLong(1_000_000);
+        }
+
+        FeedbackStore reopened = new FeedbackStore(folder);
+        List<Feedback> feedback = reopened.findByStudent("1");
+        assertEquals(1, feedback.size());
+        assertEquals("a", feedback.get(0).getText());
+        assertTrue(reopened.findByStudentAndTema("1", "3").isEmpty());
+
+        reopened.write(new Feedback("1", "Ana", "4", 8, 3, 3, "c"));
+        reopened.close();
+        List<Feedback> dupaRedeschidere = new FeedbackStore(folder).findByStudent("1");
+        assertEquals(2, dupaRedeschidere.size());
+        assertEquals("c", dupaRedeschidere.get(1).getText());
+    }
+
+    @Test
+    public void reopen_keepsIndexEntriesWithNulAndSupplementaryCharacters() throws IOException {
+        String idStudent = "a\u0000\uD83D\uDE00";
+        FeedbackStore store = new FeedbackStore(folder);
+        store.write(new Feedback(idStudent, "Ana", "1", 10, 1, 1, "a"));
+        store.close();
+        long dimensiuneIndex = Files.size(folder.resolve("feedback.idx"));
+        new FeedbackStore(folder).close();
+        assertEquals(dimensiuneIndex, Files.size(folder.resolve("feedback.idx")));
+        FeedbackStore second = new FeedbackStore(folder);
+        second.write(new Feedback(idStudent, "Ana", "2", 9, 2, 2, "b"));
+        second.close();
+
+        List<Feedback> feedback = new FeedbackStore(folder).findByStudent(idStudent);
+        assertEquals(2, feedback.size());
+        assertEquals("b", feedback.get(1).getText());
+    }
+}
@@ -0,0 +1,59 @@
+package feedback;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import validation.ValidationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeedbackWriterTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void flush_writesQueuedFeedbackInOrder_withBoundedOpenFiles() throws IOException {
+        FeedbackWriter writer = new FeedbackWriter(new FileFeedbackSink(folder, 2));
+        for (int tema = 1; tema <= 50; tema++) {
+            for (int student = 1; student <= 5; student++) {
+                writer.write(new Feedback(String.valueOf(student), "Student" + student, String.valueOf(tema), 10, tema, tema, "ok"));
+            }
+        }
+        writer.flush();
+
+        for (int student = 1; student <= 5; student++) {
+            String continut = Files.readString(folder.resolve("Student" + student + ".txt"));
+            int pozitie = -1;
+            for (int tema = 1; tema <= 50; tema++) {
+                int urmatoarea = continut.indexOf("\nTema: " + tema + "\n", pozitie + 1);
+                assertTrue(urmatoarea > pozitie, "tema " + tema);
+                pozitie = urmatoarea;
+            }
+        }
+        writer.close();
+    }
+
+    @Test
+    public void close_writesPendingFeedback_andRejectsNewFeedback() throws IOException {
+        FeedbackWriter writer = new FeedbackWriter(new FileFeedbackSink(folder, 4));
+        writer.write(new Feedback("1", "Ana", "3", 9.5, 5, 5, "foarte bine"));
+        writer.close();
+
+        assertEquals("\nTema: 3\nNota: 9.5\nPredata in saptamana: 5\nDeadline: 5\nFeedback: foarte bine" + System.lineSeparator(),
+                Files.readString(folder.resolve("Ana.txt")));
+        assertThrows(ValidationException.class, () -> writer.write(new Feedback("1", "Ana", "4", 9, 6, 6, "")));
+    }
+
+    @Test
+    public void sinkErrors_areReportedByFlush() {
+        FeedbackWriter writer = new FeedbackWriter(new FileFeedbackSink(folder.resolve("lipsa"), 4));
+        writer.write(new Feedback("1", "Ana", "3", 9.5, 5, 5, "foarte bine"));
+
+        assertThrows(ValidationException.class, writer::flush);
+        writer.close();
+    }
+}
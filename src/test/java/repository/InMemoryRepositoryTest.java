@@ -0,0 +1,81 @@
+package repository;
+
+import domain.Tema;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryRepositoryTest {
+
+    @Test
+    public void findAll_neverSeesPartOfABatch() throws InterruptedException {
+        InMemoryRepository<String, Tema> repository = new InMemoryRepository<>();
+        int loturi = 200;
+        int lot = 50;
+        Thread scriitor = new Thread(() -> {
+            for (int i = 0; i < loturi; i++) {
+                List<Tema> teme = new ArrayList<>();
+                for (int j = 0; j < lot; j++) {
+                    teme.add(new Tema(i + "-" + j, "Tema", 5, 3));
+                }
+                repository.saveAll(teme);
+            }
+        });
+        scriitor.start();
+        int numar;
+        do {
+            numar = 0;
+            for (Tema ignored : repository.findAll()) {
+                numar++;
+            }
+            assertEquals(0, numar % lot);
+        } while (numar < loturi * lot);
+        scriitor.join();
+    }
+
+    @Test
+    public void findAll_isReusedUntilTheNextChange() {
+        InMemoryRepository<String, Tema> repository = new InMemoryRepository<>();
+        repository.save(new Tema("1", "Tema 1", 5, 3));
+        Iterable<Tema> copie = repository.findAll();
+        assertSame(copie, repository.findAll());
+
+        repository.save(new Tema("2", "Tema 2", 6, 4));
+        assertNotSame(copie, repository.findAll());
+        assertEquals(1, copie.spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    public void findAll_canBeCalledFromListenersAndBatches() {
+        InMemoryRepository<String, Tema> repository = new InMemoryRepository<>();
+        List<Integer> vazute = new ArrayList<>();
+        repository.addListener(new RepositoryListener<Tema>() {
+            @Override
+            public void onSave(Tema entity) {
+                int numar = 0;
+                for (Tema ignored : repository.findAll()) {
+                    numar++;
+                }
+                vazute.add(numar);
+            }
+        });
+
+        repository.saveAll(List.of(new Tema("1", "Tema 1", 5, 3), new Tema("2", "Tema 2", 6, 4)));
+
+        assertEquals(List.of(0, 0), vazute);
+        assertEquals(2, repository.findAll().spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    public void nullId_isRejectedBySaveDeleteAndUpdate() {
+        InMemoryRepository<String, Tema> repository = new InMemoryRepository<>();
+        Tema faraId = new Tema(null, "Tema", 5, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.save(faraId));
+        assertThrows(IllegalArgumentException.class, () -> repository.delete(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(faraId));
+    }
+}
@@ -0,0 +1,50 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+import validation.ValidationException;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinieCSVTest {
+
+    @Test
+    public void nextFields_parseValuesLikeTheStandardParsers() {
+        LinieCSV linie = new LinieCSV("\u0218tefan,-12,8.33,2022-5-07,1e1,,0.1");
+
+        assertTrue(linie.hasNext());
+        assertEquals("\u0218tefan", linie.nextString());
+        assertEquals(-12, linie.nextInt());
+        assertEquals(Double.parseDouble("8.33"), linie.nextDouble());
+        assertEquals(LocalDate.of(2022, 5, 7), linie.nextDate());
+        assertEquals(10.0, linie.nextDouble());
+        assertEquals("", linie.nextString());
+        assertEquals(0.1, linie.nextDouble());
+        assertFalse(linie.hasNext());
+    }
+
+    @Test
+    public void nextDouble_longValues_matchDoubleParseDouble() {
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            int cifre = 1 + random.nextInt(20);
+            StringBuilder numar = new StringBuilder();
+            for (int j = 0; j < cifre; j++) {
+                numar.append((char) ('0' + random.nextInt(10)));
+            }
+            numar.insert(random.nextInt(cifre + 1), '.');
+            String text = numar.charAt(0) == '.' ? "0" + numar : numar.toString();
+            assertEquals(Double.parseDouble(text), new LinieCSV(text).nextDouble(), text);
+        }
+        assertEquals(Double.parseDouble("9007199254740993.5"), new LinieCSV("9007199254740993.5").nextDouble());
+        assertEquals(Double.parseDouble("0.123456789012345678"), new LinieCSV("0.123456789012345678").nextDouble());
+    }
+
+    @Test
+    public void nextInt_rejectsInvalidFields() {
+        assertThrows(ValidationException.class, () -> new LinieCSV("12a,3").nextInt());
+        assertThrows(ValidationException.class, () -> new LinieCSV("2022/05/07").nextDate());
+    }
+}
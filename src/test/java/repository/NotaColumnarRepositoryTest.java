@@ -0,0 +1,157 @@
+package repository;
+
+import domain.Nota;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import validation.ValidationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotaColumnarRepositoryTest {
+
+    private NotaColumnarRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        repo = new NotaColumnarRepository();
+        for (int i = 0; i < 40; i++) {
+            String idStudent = String.valueOf(i % 4);
+            String idTema = String.valueOf(i / 4);
+            assertNull(repo.save(new Nota(idStudent + "#" + idTema, idStudent, idTema, 5 + i % 4, LocalDate.of(2022, 5, 1).plusDays(i))));
+        }
+    }
+
+    @Test
+    public void findOne_materializesStoredValues() {
+        Nota nota = repo.findOne("3#2");
+        assertEquals("3", nota.getIdStudent());
+        assertEquals("2", nota.getIdTema());
+        assertEquals(8.0, nota.getNota());
+        assertEquals(LocalDate.of(2022, 5, 12), nota.getData());
+        assertNull(repo.findOne("9#9"));
+    }
+
+    @Test
+    public void saveDeleteUpdate_keepRowsConsistent() {
+        Nota duplicat = new Nota("0#0", "0", "0", 1.0, LocalDate.of(2022, 5, 1));
+        assertSame(duplicat, repo.save(duplicat));
+
+        assertEquals("0#0", repo.delete("0#0").getID());
+        assertNull(repo.delete("0#0"));
+        assertEquals(39, repo.size());
+        assertEquals(8.0, repo.findOne("3#9").getNota());
+
+        assertNull(repo.update(new Nota("3#9", "3", "9", 9.25, LocalDate.of(2022, 6, 1))));
+        assertEquals(9.25, repo.findOne("3#9").getNota());
+        assertEquals(LocalDate.of(2022, 6, 1), repo.findOne("3#9").getData());
+    }
+
+    @Test
+    public void queriesAndAggregates_useRowLists() {
+        assertEquals(10, repo.findByStudent("1").size());
+        assertEquals(4, repo.findByTema("0").size());
+        assertTrue(repo.findByStudent("nu exista").isEmpty());
+        assertEquals(3, repo.findByData(LocalDate.of(2022, 5, 1), LocalDate.of(2022, 5, 3)).size());
+        assertEquals(6.0, repo.medieStudent("1"));
+        assertEquals(6.5, repo.medieTema("0"));
+        assertTrue(Double.isNaN(repo.medieTema("nu exista")));
+    }
+
+    @Test
+    public void findAll_isNotAffectedByLaterChanges() {
+        Iterable<Nota> toate = repo.findAll();
+        repo.delete("0#0");
+        List<Nota> note = new ArrayList<>();
+        toate.forEach(note::add);
+        assertEquals(40, note.size());
+    }
+
+    @Test
+    public void findAll_isReusedUntilTheNextChange() {
+        Iterable<Nota> toate = repo.findAll();
+        assertSame(toate, repo.findAll());
+        repo.update(new Nota("1#1", "1", "1", 7.0, LocalDate.of(2022, 5, 1)));
+        assertNotSame(toate, repo.findAll());
+        assertThrows(IllegalArgumentException.class, () -> repo.update(new Nota(null, "1", "1", 7.0, LocalDate.of(2022, 5, 1))));
+    }
+
+    @Test
+    public void idsNotBuiltFromStudentAndTema_areKeptAndMovedWithTheirRows() {
+        assertNull(repo.save(new Nota("import-1", "1", "1", 8.0, LocalDate.of(2022, 5, 2))));
+        assertNull(repo.save(new Nota("2#15", "3", "7", 9.0, LocalDate.of(2022, 5, 2))));
+        assertNotNull(repo.save(new Nota("1#1", "1", "1", 5.0, LocalDate.of(2022, 5, 2))));
+        assertEquals(8.0, repo.findOne("import-1").getNota());
+        assertEquals("3", repo.findOne("2#15").getIdStudent());
+
+        //randul sters este inlocuit de ultimul rand, care are un id special
+        repo.delete("0#0");
+        assertEquals(9.0, repo.findOne("2#15").getNota());
+        assertEquals("import-1", repo.findOne("import-1").getID());
+        assertNull(repo.findOne("0#0"));
+
+        repo.update(new Nota("import-1", "1", "2", 7.0, LocalDate.of(2022, 5, 2)));
+        assertEquals("2", repo.findOne("import-1").getIdTema());
+        assertEquals(6.0, repo.findOne("1#1").getNota());
+        assertNotNull(repo.delete("2#15"));
+        assertNull(repo.findOne("2#15"));
+    }
+
+    @Test
+    public void rowLists_stayConsistentAfterDeletesAndUpdates() {
+        Random random = new Random(3);
+        for (int i = 0; i < 400; i++) {
+            String id = random.nextInt(4) + "#" + random.nextInt(10);
+            if (random.nextBoolean()) {
+                repo.delete(id);
+            } else {
+                String[] parti = id.split("#");
+                Nota nota = new Nota(id, parti[0], parti[1], 4 + random.nextInt(7), LocalDate.of(2022, 5, 1).plusDays(random.nextInt(30)));
+                if (repo.update(nota) != null) {
+                    repo.save(nota);
+                }
+            }
+        }
+        List<Nota> toate = new ArrayList<>();
+        repo.findAll().forEach(toate::add);
+        for (String idStudent : new String[]{"0", "1", "2", "3"}) {
+            assertEquals(ids(toate.stream().filter(n -> n.getIdStudent().equals(idStudent)).collect(Collectors.toList())),
+                    ids(repo.findByStudent(idStudent)));
+            assertEquals(repo.findByStudent(idStudent).size(), repo.countByStudent(idStudent));
+        }
+        for (int t = 0; t < 10; t++) {
+            String idTema = String.valueOf(t);
+            assertEquals(ids(toate.stream().filter(n -> n.getIdTema().equals(idTema)).collect(Collectors.toList())),
+                    ids(repo.findByTema(idTema)));
+        }
+        LocalDate inceput = LocalDate.of(2022, 5, 10);
+        LocalDate sfarsit = LocalDate.of(2022, 5, 20);
+        List<Nota> interval = repo.findByData(inceput, sfarsit);
+        assertEquals(ids(toate.stream().filter(n -> !n.getData().isBefore(inceput) && !n.getData().isAfter(sfarsit))
+                .collect(Collectors.toList())), ids(interval));
+        assertEquals(interval.size(), repo.countByData(inceput, sfarsit));
+        for (int i = 1; i < interval.size(); i++) {
+            assertFalse(interval.get(i).getData().isBefore(interval.get(i - 1).getData()));
+        }
+    }
+
+    @Test
+    public void valuesWithMoreThanTwoDecimals_areRejected() {
+        assertThrows(ValidationException.class, () -> repo.save(new Nota("9#9", "9", "9", 8.333, LocalDate.of(2022, 5, 1))));
+        assertNull(repo.findOne("9#9"));
+        assertThrows(ValidationException.class, () -> repo.update(new Nota("1#1", "1", "1", 7.125, LocalDate.of(2022, 5, 1))));
+        assertEquals(6.0, repo.findOne("1#1").getNota());
+        assertNull(repo.save(new Nota("9#9", "9", "9", 9.1, LocalDate.of(2022, 5, 1), 2.5)));
+        assertEquals(9.1, repo.findOne("9#9").getNota());
+    }
+
+    private static Set<String> ids(List<Nota> note) {
+        return note.stream().map(Nota::getID).collect(Collectors.toSet());
+    }
+}
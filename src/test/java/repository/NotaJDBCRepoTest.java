@@ -0,0 +1,108 @@
+package repository;
+
+import domain.Nota;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotaJDBCRepoTest {
+
+    @TempDir
+    Path folder;
+
+    private String url;
+    private NotaJDBCRepo repo;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:" + folder.resolve("laborator").toAbsolutePath();
+        repo = new NotaJDBCRepo(url);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repo.close();
+    }
+
+    @Test
+    public void crud_behavesLikeTheFileRepositories() {
+        Nota nota = new Nota("1#1", "1", "1", 9.5, LocalDate.of(2022, 5, 3));
+        assertNull(repo.save(nota));
+        assertSame(nota, repo.save(nota));
+        assertNull(repo.findOne(null));
+
+        assertNull(repo.update(new Nota("1#1", "1", "1", 8.25, LocalDate.of(2022, 5, 4))));
+        Nota inexistenta = new Nota("2#1", "2", "1", 8.0, LocalDate.of(2022, 5, 4));
+        assertSame(inexistenta, repo.update(inexistenta));
+        assertEquals(8.25, repo.findOne("1#1").getNota());
+        assertEquals(LocalDate.of(2022, 5, 4), repo.findOne("1#1").getData());
+
+        assertEquals("1#1", repo.delete("1#1").getID());
+        assertNull(repo.delete("1#1"));
+        assertThrows(IllegalArgumentException.class, () -> repo.delete(null));
+    }
+
+    @Test
+    public void batchOperations_returnPerEntityOutcomes_andArePersisted() {
+        repo.save(new Nota("1#1", "1", "1", 10.0, LocalDate.of(2022, 5, 3)));
+        Nota duplicat = new Nota("1#1", "1", "1", 5.0, LocalDate.of(2022, 5, 3));
+        Nota a = new Nota("2#1", "2", "1", 7.0, LocalDate.of(2022, 5, 4));
+        Nota b = new Nota("2#2", "2", "2", 6.0, LocalDate.of(2022, 5, 10));
+
+        assertEquals(Arrays.asList(duplicat, null, null), repo.saveAll(List.of(duplicat, a, b)));
+        Nota inexistenta = new Nota("3#1", "3", "1", 4.0, LocalDate.of(2022, 5, 4));
+        assertEquals(Arrays.asList(null, inexistenta),
+                repo.updateAll(List.of(new Nota("2#1", "2", "1", 7.5, LocalDate.of(2022, 5, 4)), inexistenta)));
+        List<Nota> sterse = repo.deleteAll(List.of("2#2", "9#9"));
+        assertEquals("2#2", sterse.get(0).getID());
+        assertNull(sterse.get(1));
+
+        repo.close();
+        repo = new NotaJDBCRepo(url);
+        List<Nota> note = new ArrayList<>();
+        repo.findAll().forEach(note::add);
+        assertEquals(2, note.size());
+        assertEquals(7.5, repo.findOne("2#1").getNota());
+    }
+
+    @Test
+    public void indexedQueries_filterByStudentTemaAndDate() {
+        repo.saveAll(List.of(
+                new Nota("1#1", "1", "1", 10.0, LocalDate.of(2022, 5, 9)),
+                new Nota("1#2", "1", "2", 9.0, LocalDate.of(2022, 5, 2)),
+                new Nota("2#1", "2", "1", 8.0, LocalDate.of(2022, 5, 20))));
+
+        assertEquals(2, repo.findByStudent("1").size());
+        assertEquals(2, repo.findByTema("1").size());
+        List<Nota> interval = repo.findByData(LocalDate.of(2022, 5, 1), LocalDate.of(2022, 5, 10));
+        assertEquals("1#2", interval.get(0).getID());
+        assertEquals("1#1", interval.get(1).getID());
+        assertEquals(2, interval.size());
+
+        assertEquals(2, repo.countByStudent("1"));
+        assertEquals(0, repo.countByStudent("9"));
+        assertEquals(2, repo.countByTema("1"));
+        assertEquals(2, repo.countByData(LocalDate.of(2022, 5, 1), LocalDate.of(2022, 5, 10)));
+    }
+
+    @Test
+    public void penalty_isStoredInItsOwnColumn() {
+        assertNull(repo.save(new Nota("1#1", "1", "1", 7.5, LocalDate.of(2022, 5, 10), 2.5)));
+        repo.close();
+        repo = new NotaJDBCRepo(url);
+
+        Nota nota = repo.findOne("1#1");
+        assertEquals(7.5, nota.getNota());
+        assertEquals(2.5, nota.getPenalizare());
+        assertEquals(10.0, nota.getNotaInitiala());
+    }
+}
@@ -0,0 +1,115 @@
+package repository;
+
+import domain.Nota;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotaQueryTest {
+
+    private static final LocalDate INCEPUT = LocalDate.of(2022, 5, 1);
+
+    @TempDir
+    Path folder;
+
+    private NotaColumnarRepository repo;
+    private List<Nota> toate;
+
+    @BeforeEach
+    void setUp() {
+        repo = new NotaColumnarRepository();
+        toate = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String idStudent = String.valueOf(i % 20);
+            String idTema = String.valueOf(i / 20);
+            Nota nota = new Nota(idStudent + "#" + idTema, idStudent, idTema, i % 11, INCEPUT.plusDays(i % 50));
+            toate.add(nota);
+            repo.save(nota);
+        }
+    }
+
+    @Test
+    public void plan_choosesTheMostSelectiveIndex() {
+        assertEquals(NotaQueryPlanner.Plan.SCANARE, NotaQueryPlanner.plan(repo, new NotaQuery().nota(5, 10)));
+        assertEquals(NotaQueryPlanner.Plan.STUDENT, NotaQueryPlanner.plan(repo, new NotaQuery().student("3").tema("2")));
+        assertEquals(NotaQueryPlanner.Plan.TEMA, NotaQueryPlanner.plan(repo, new NotaQuery().student("3").tema("99")));
+        assertEquals(NotaQueryPlanner.Plan.DATA,
+                NotaQueryPlanner.plan(repo, new NotaQuery().tema("2").data(INCEPUT, INCEPUT)));
+        assertEquals(NotaQueryPlanner.Plan.TEMA,
+                NotaQueryPlanner.plan(repo, new NotaQuery().tema("2").data(INCEPUT, INCEPUT.plusDays(30))));
+    }
+
+    @Test
+    public void find_matchesAFilteredScan() {
+        List<NotaQuery> cautari = List.of(
+                new NotaQuery(),
+                new NotaQuery().student("4"),
+                new NotaQuery().tema("7").nota(0, 4.5),
+                new NotaQuery().data(INCEPUT.plusDays(10), INCEPUT.plusDays(12)),
+                new NotaQuery().data(null, INCEPUT.plusDays(3)).nota(6, 10),
+                new NotaQuery().student("1").tema("1").data(INCEPUT, null));
+        for (NotaQuery cautare : cautari) {
+            assertEquals(ids(scan(cautare)), ids(repo.find(cautare).collect(Collectors.toList())));
+        }
+    }
+
+    @Test
+    public void find_pagesInDateOrder() {
+        NotaQuery cautare = new NotaQuery().nota(5, 10);
+        List<Nota> asteptate = scan(cautare);
+        List<Nota> pagina = repo.find(new NotaQuery().nota(5, 10).offset(10).limit(15)).collect(Collectors.toList());
+        assertEquals(ids(asteptate.subList(10, 25)), ids(pagina));
+    }
+
+    @Test
+    public void find_pagesEveryPlanInDateOrder() {
+        List<NotaQuery> cautari = List.of(
+                new NotaQuery().student("4").offset(3).limit(4),
+                new NotaQuery().tema("7").offset(2).limit(5),
+                new NotaQuery().data(INCEPUT.plusDays(10), INCEPUT.plusDays(20)).offset(7).limit(9),
+                new NotaQuery().data(INCEPUT, INCEPUT.plusDays(49)).nota(3, 10).offset(0).limit(1),
+                new NotaQuery().nota(0, 10).limit(0),
+                new NotaQuery().offset(150).limit(Long.MAX_VALUE));
+        for (NotaQuery cautare : cautari) {
+            assertEquals(ids(scan(cautare)), ids(repo.find(cautare).collect(Collectors.toList())));
+        }
+    }
+
+    @Test
+    public void jdbc_findReturnsTheSameResults() {
+        NotaJDBCRepo jdbc = new NotaJDBCRepo("jdbc:h2:" + folder.resolve("laborator").toAbsolutePath());
+        jdbc.saveAll(toate);
+        List<NotaQuery> cautari = List.of(
+                new NotaQuery().tema("7").nota(0, 4.5),
+                new NotaQuery().data(INCEPUT.plusDays(10), INCEPUT.plusDays(40)).offset(5).limit(7),
+                new NotaQuery().student("1").data(INCEPUT, null));
+        for (NotaQuery cautare : cautari) {
+            assertEquals(ids(repo.find(cautare).collect(Collectors.toList())),
+                    ids(jdbc.find(cautare).collect(Collectors.toList())));
+        }
+        jdbc.close();
+    }
+
+    private List<Nota> scan(NotaQuery cautare) {
+        List<Nota> rezultat = new ArrayList<>();
+        repo.findAll().forEach(nota -> {
+            if (cautare.test(nota)) {
+                rezultat.add(nota);
+            }
+        });
+        rezultat.sort(NotaQueryPlanner.ORDINE);
+        return rezultat.stream().skip(cautare.getOffset()).limit(cautare.getLimit()).collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<Nota> note) {
+        return note.stream().map(Nota::getID).collect(Collectors.toList());
+    }
+}
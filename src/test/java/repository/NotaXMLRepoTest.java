@@ -0,0 +1,289 @@
+package repository;
+
+import domain.Nota;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import validation.ValidationException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotaXMLRepoTest {
+
+    @TempDir
+    Path folder;
+
+    private String filename;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = folder.resolve("Note.xml");
+        Files.writeString(file, "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><inbox></inbox>");
+        filename = file.toString();
+    }
+
+    @Test
+    public void journal_mutationsAreAppended_andReplayedOnLoad() throws IOException {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.enableJournal(100);
+        String continutInitial = Files.readString(Path.of(filename));
+
+        repo.save(new Nota("1#1", "1", "1", 10.0, LocalDate.of(2022, 5, 3)));
+        repo.save(new Nota("2#1", "2", "1", 7.5, LocalDate.of(2022, 5, 4)));
+        repo.update(new Nota("2#1", "2", "1", 8.0, LocalDate.of(2022, 5, 4)));
+        repo.delete("1#1");
+
+        assertEquals(continutInitial, Files.readString(Path.of(filename)));
+        assertEquals(4, Files.readAllLines(Path.of(filename + ".journal")).size());
+
+        NotaXMLRepo reloaded = new NotaXMLRepo(filename);
+        assertNull(reloaded.findOne("1#1"));
+        assertEquals(8.0, reloaded.findOne("2#1").getNota());
+    }
+
+    @Test
+    public void journal_isWrittenAndReplayedAsUtf8() throws IOException {
+        String idStudent = "\u0218tefan";
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.enableJournal(100);
+
+        repo.save(new Nota(idStudent + "#1", idStudent, "1", 10.0, LocalDate.of(2022, 5, 3)));
+
+        String jurnal = new String(Files.readAllBytes(Path.of(filename + ".journal")), StandardCharsets.UTF_8);
+        assertTrue(jurnal.contains(idStudent));
+        NotaXMLRepo reloaded = new NotaXMLRepo(filename);
+        assertEquals(idStudent, reloaded.findOne(idStudent + "#1").getIdStudent());
+    }
+
+    @Test
+    public void load_skipsNestedElements_andKeepsTheFollowingEntities() throws IOException {
+        Files.writeString(Path.of(filename), "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><inbox>"
+                + "<nota id=\"1#1\"><idStudent>1</idStudent><idTema>1</idTema><notaProf>9.0</notaProf>"
+                + "<dataCurenta>2022-05-03</dataCurenta><observatii><b>bine</b> lucrat</observatii></nota>"
+                + "<nota id=\"2#1\"><idStudent>2</idStudent><idTema>1</idTema><notaProf>8.0</notaProf>"
+                + "<dataCurenta>2022-05-03</dataCurenta></nota></inbox>");
+
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+
+        assertEquals(9.0, repo.findOne("1#1").getNota());
+        assertEquals(8.0, repo.findOne("2#1").getNota());
+    }
+
+    @Test
+    public void load_invalidEntity_isReported() throws IOException {
+        Files.writeString(Path.of(filename), "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><inbox>"
+                + "<nota id=\"1#1\"><idStudent>1</idStudent><idTema>1</idTema><notaProf><valoare>9</valoare></notaProf>"
+                + "<dataCurenta>2022-05-03</dataCurenta></nota></inbox>");
+
+        assertThrows(ValidationException.class, () -> new NotaXMLRepo(filename));
+    }
+
+    @Test
+    public void parallelLoad_splitsFileAtElementBoundaries() {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        for (int i = 0; i < 200; i++) {
+            repo.save(new Nota(i + "#1", String.valueOf(i), "1", 5 + i % 6, LocalDate.of(2022, 5, 1).plusDays(i % 30)));
+        }
+
+        System.setProperty(ParallelLoader.MARIME_BUCATA, "512");
+        try {
+            NotaXMLRepo reloaded = new NotaXMLRepo(filename);
+            List<String> asteptate = Arrays.stream(descrieri(repo)).sorted().collect(Collectors.toList());
+            assertEquals(asteptate, Arrays.stream(descrieri(reloaded)).sorted().collect(Collectors.toList()));
+            assertEquals(200, asteptate.size());
+        } finally {
+            System.clearProperty(ParallelLoader.MARIME_BUCATA);
+        }
+    }
+
+    private static String[] descrieri(NotaXMLRepo repo) {
+        List<String> note = new ArrayList<>();
+        repo.findAll().forEach(nota -> note.add(nota.getID() + " " + nota));
+        return note.toArray(new String[0]);
+    }
+
+    @Test
+    public void journal_checkpointRewritesFile_andClearsJournal() {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.enableJournal(2);
+
+        repo.save(new Nota("1#1", "1", "1", 10.0, LocalDate.of(2022, 5, 3)));
+        assertTrue(Files.exists(Path.of(filename + ".journal")));
+        repo.save(new Nota("2#1", "2", "1", 7.5, LocalDate.of(2022, 5, 4)));
+        assertFalse(Files.exists(Path.of(filename + ".journal")));
+
+        NotaXMLRepo reloaded = new NotaXMLRepo(filename);
+        assertEquals(10.0, reloaded.findOne("1#1").getNota());
+        assertEquals(7.5, reloaded.findOne("2#1").getNota());
+    }
+
+    @Test
+    public void journal_tornLastLine_isIgnored() throws IOException {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.enableJournal(100);
+        repo.save(new Nota("1#1", "1", "1", 10.0, LocalDate.of(2022, 5, 3)));
+        Files.writeString(Path.of(filename + ".journal"), "S <nota id=\"2#1\"><idSt",
+                StandardOpenOption.APPEND);
+
+        NotaXMLRepo reloaded = new NotaXMLRepo(filename);
+        assertNotNull(reloaded.findOne("1#1"));
+        assertNull(reloaded.findOne("2#1"));
+    }
+
+    @Test
+    public void batchOperations_returnPerEntityOutcomes() {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.save(new Nota("1#1", "1", "1", 10.0, LocalDate.of(2022, 5, 3)));
+        Nota duplicat = new Nota("1#1", "1", "1", 5.0, LocalDate.of(2022, 5, 3));
+
+        List<Nota> rezultate = repo.saveAll(List.of(
+                new Nota("2#1", "2", "1", 7.5, LocalDate.of(2022, 5, 4)),
+                duplicat,
+                new Nota("3#1", "3", "1", 9.0, LocalDate.of(2022, 5, 4))));
+
+        assertNull(rezultate.get(0));
+        assertSame(duplicat, rezultate.get(1));
+        assertNull(rezultate.get(2));
+        assertEquals(Arrays.asList(null, null, null), repo.deleteAll(List.of("4#1", "5#1", "6#1")));
+
+        NotaXMLRepo reloaded = new NotaXMLRepo(filename);
+        assertEquals(10.0, reloaded.findOne("1#1").getNota());
+        assertNotNull(reloaded.findOne("2#1"));
+        assertNotNull(reloaded.findOne("3#1"));
+    }
+
+    @Test
+    public void indexes_followMutations_andAreRebuiltOnLoad() {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.save(new Nota("1#1", "1", "1", 10.0, LocalDate.of(2022, 5, 3)));
+        repo.save(new Nota("1#2", "1", "2", 6.0, LocalDate.of(2022, 5, 10)));
+        repo.save(new Nota("2#1", "2", "1", 7.5, LocalDate.of(2022, 5, 4)));
+        repo.update(new Nota("2#1", "2", "1", 8.0, LocalDate.of(2022, 5, 12)));
+        repo.delete("1#1");
+
+        assertEquals(List.of("1#2"), ids(repo.findByStudent("1")));
+        assertEquals(List.of("2#1"), ids(repo.findByTema("1")));
+        assertEquals(List.of("1#2", "2#1"), ids(repo.findByData(LocalDate.of(2022, 5, 1), LocalDate.of(2022, 5, 31))));
+        assertTrue(repo.findByData(LocalDate.of(2022, 5, 3), LocalDate.of(2022, 5, 4)).isEmpty());
+
+        NotaXMLRepo reloaded = new NotaXMLRepo(filename);
+        assertEquals(List.of("1#2"), ids(reloaded.findByStudent("1")));
+        assertEquals(8.0, reloaded.findByTema("1").get(0).getNota());
+    }
+
+    @Test
+    public void concurrentSaves_areAllPersisted() throws InterruptedException {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.enableJournal(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            String idStudent = String.valueOf(i);
+            executor.submit(() -> repo.save(new Nota(idStudent + "#1", idStudent, "1", 9.0, LocalDate.of(2022, 5, 3))));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(400, repo.findByTema("1").size());
+        assertEquals(400, new NotaXMLRepo(filename).findByTema("1").size());
+    }
+
+    @Test
+    public void findAll_isStableWhileRepositoryChanges() {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.enableJournal(1000);
+        repo.save(new Nota("1#1", "1", "1", 10.0, LocalDate.of(2022, 5, 3)));
+        repo.save(new Nota("2#1", "2", "1", 7.5, LocalDate.of(2022, 5, 4)));
+
+        Iterable<Nota> snapshot = repo.findAll();
+        assertSame(snapshot, repo.findAll());
+        int vazute = 0;
+        for (Nota nota : snapshot) {
+            repo.save(new Nota(nota.getID() + "x", "3", "1", 5.0, LocalDate.of(2022, 5, 5)));
+            vazute++;
+        }
+
+        assertEquals(2, vazute);
+        assertNotSame(snapshot, repo.findAll());
+        assertEquals(4, repo.findAll().spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    public void snapshot_isUsedWhileCurrent_andIgnoredWhenXmlChanges() throws IOException {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.enableSnapshot();
+        repo.save(new Nota("1#1", "1", "1", 9.0, LocalDate.of(2022, 5, 3)));
+        //fiecare modificare rescrie doar fisierul XML; copia binara este scrisa la inchidere
+        assertFalse(Files.exists(Path.of(filename + ".snap")));
+        repo.close();
+        assertTrue(Files.exists(Path.of(filename + ".snap")));
+
+        Path xml = Path.of(filename);
+        FileTime modificat = Files.getLastModifiedTime(xml);
+        Files.writeString(xml, Files.readString(xml).replace("9.0", "8.0"));
+        Files.setLastModifiedTime(xml, modificat);
+        assertEquals(9.0, new NotaXMLRepo(filename).findOne("1#1").getNota());
+
+        Files.setLastModifiedTime(xml, FileTime.fromMillis(modificat.toMillis() + 1000));
+        assertEquals(8.0, new NotaXMLRepo(filename).findOne("1#1").getNota());
+    }
+
+    @Test
+    public void penalty_isPersistedInXmlAndSnapshot() throws IOException {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.enableSnapshot();
+        repo.save(new Nota("1#1", "1", "1", 7.5, LocalDate.of(2022, 5, 10), 2.5));
+        repo.close();
+
+        Nota dinSnapshot = new NotaXMLRepo(filename).findOne("1#1");
+        assertEquals(2.5, dinSnapshot.getPenalizare());
+        assertEquals(10.0, dinSnapshot.getNotaInitiala());
+
+        Files.delete(Path.of(filename + ".snap"));
+        assertEquals(2.5, new NotaXMLRepo(filename).findOne("1#1").getPenalizare());
+
+        Files.writeString(Path.of(filename), "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><inbox>"
+                + "<nota id=\"2#1\"><idStudent>2</idStudent><idTema>1</idTema><notaProf>9.0</notaProf>"
+                + "<dataCurenta>2022-05-03</dataCurenta></nota></inbox>");
+        assertEquals(0.0, new NotaXMLRepo(filename).findOne("2#1").getPenalizare());
+    }
+
+    @Test
+    public void fragmentCache_reencodesOnlyUpdatedEntities() throws IOException {
+        NotaXMLRepo repo = new NotaXMLRepo(filename);
+        repo.save(new Nota("1#1", "1", "1", 10.0, LocalDate.of(2022, 5, 3)));
+        repo.save(new Nota("2#1", "2", "1", 7.5, LocalDate.of(2022, 5, 4)));
+        String faraCache = Files.readString(Path.of(filename));
+
+        repo.enableFragmentCache();
+        repo.writeToFile();
+        assertEquals(faraCache, Files.readString(Path.of(filename)));
+
+        Nota nota = repo.findOne("2#1");
+        nota.setNota(9.0);
+        repo.writeToFile();
+        assertEquals(7.5, new NotaXMLRepo(filename).findOne("2#1").getNota());
+
+        repo.update(nota);
+        assertEquals(9.0, new NotaXMLRepo(filename).findOne("2#1").getNota());
+        assertEquals(10.0, new NotaXMLRepo(filename).findOne("1#1").getNota());
+    }
+
+    private static List<String> ids(List<Nota> note) {
+        return note.stream().map(Nota::getID).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,133 @@
+package repository;
+
+import domain.Nota;
+import domain.Student;
+import domain.Tema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import validation.ValidationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StorageEnginesTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void memory_keepsDataWithoutFiles() {
+        StorageEngine engine = StorageEngines.create(StorageEngines.MEMORY, folder.toString());
+        assertNull(engine.studenti().save(new Student("1", "Ana", 221, "ana@scs.ubbcluj.ro")));
+        assertNull(engine.note().save(new Nota("1#1", "1", "1", 9.0, LocalDate.of(2022, 5, 3))));
+
+        assertEquals(1, engine.note().findByStudent("1").size());
+        engine.close();
+        assertEquals(0, folder.toFile().list().length);
+    }
+
+    @Test
+    public void binary_persistsThroughJournal_andReloads() throws IOException {
+        String gol = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><inbox></inbox>";
+        for (String fisier : new String[]{"Studenti.xml", "Teme.xml", "Note.xml"}) {
+            Files.writeString(folder.resolve(fisier), gol);
+        }
+        StorageEngine engine = StorageEngines.create(StorageEngines.BINARY, folder.toString());
+        engine.teme().save(new Tema("1", "Tema 1", 5, 3));
+        engine.close();
+        assertTrue(Files.exists(folder.resolve("Teme.xml.journal")));
+
+        StorageEngine reloaded = StorageEngines.create(StorageEngines.BINARY, folder.toString());
+        assertEquals(5, reloaded.teme().findOne("1").getDeadline());
+        reloaded.close();
+    }
+
+    @Test
+    public void text_withCompactionOption_appendsAndCompactsOnClose() throws IOException {
+        for (String fisier : new String[]{"Studenti.txt", "Teme.txt", "Note.txt"}) {
+            Files.createFile(folder.resolve(fisier));
+        }
+        Properties optiuni = new Properties();
+        optiuni.setProperty(StorageEngines.COMPACTARE, "0.5");
+        StorageEngine engine = StorageEngines.create(StorageEngines.TEXT, folder.toString(), optiuni);
+        engine.teme().save(new Tema("1", "Tema 1", 5, 3));
+        engine.teme().save(new Tema("2", "Tema 2", 6, 4));
+        engine.teme().update(new Tema("1", "Tema 1", 7, 3));
+        //modul log adauga modificarea la sfarsitul fisierului in loc sa il rescrie
+        assertEquals(3, Files.readAllLines(folder.resolve("Teme.txt")).size());
+
+        engine.teme().delete("2");
+        engine.close();
+        //3 linii invechite din 4 - compactarea planificata se termina la inchidere
+        assertEquals(1, Files.readAllLines(folder.resolve("Teme.txt")).size());
+
+        StorageEngine reloaded = StorageEngines.create(StorageEngines.TEXT, folder.toString(), optiuni);
+        assertEquals(7, reloaded.teme().findOne("1").getDeadline());
+        assertNull(reloaded.teme().findOne("2"));
+        reloaded.close();
+    }
+
+    @Test
+    public void xml_withWriteBehindOption_writesOnFlush() throws IOException {
+        String gol = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><inbox></inbox>";
+        for (String fisier : new String[]{"Studenti.xml", "Teme.xml", "Note.xml"}) {
+            Files.writeString(folder.resolve(fisier), gol);
+        }
+        Properties optiuni = new Properties();
+        optiuni.setProperty(StorageEngines.SCRIERE_AMANATA, "3600000");
+        StorageEngine engine = StorageEngines.create(StorageEngines.XML, folder.toString(), optiuni);
+        engine.teme().save(new Tema("1", "Tema 1", 5, 3));
+        assertFalse(Files.readString(folder.resolve("Teme.xml")).contains("Tema 1"));
+
+        engine.flush();
+        assertTrue(Files.readString(folder.resolve("Teme.xml")).contains("Tema 1"));
+        engine.close();
+    }
+
+    @Test
+    public void xml_rewritesFilesFromCachedFragments_identicalToFullSerialization() throws IOException {
+        String gol = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><inbox></inbox>";
+        for (String fisier : new String[]{"Studenti.xml", "Teme.xml", "Note.xml"}) {
+            Files.writeString(folder.resolve(fisier), gol);
+        }
+        StorageEngine engine = StorageEngines.create(StorageEngines.XML, folder.toString());
+        for (int i = 1; i <= 5; i++) {
+            engine.studenti().save(new Student(String.valueOf(i), "Student " + i, 221, i + "@scs.ubbcluj.ro"));
+        }
+        engine.studenti().update(new Student("2", "Student doi", 222, "2@scs.ubbcluj.ro"));
+        engine.studenti().delete("4");
+        engine.close();
+        String cuFragmente = Files.readString(folder.resolve("Studenti.xml"));
+
+        Path copie = folder.resolve("copie.xml");
+        Files.writeString(copie, cuFragmente);
+        new StudentXMLRepo(copie.toString()).writeToFile();
+        assertEquals(Files.readString(copie), cuFragmente);
+
+        StorageEngine reloaded = StorageEngines.create(StorageEngines.XML, folder.toString());
+        assertEquals(222, reloaded.studenti().findOne("2").getGrupa());
+        assertNull(reloaded.studenti().findOne("4"));
+        assertEquals(4, reloaded.studenti().countByGrupa(221) + reloaded.studenti().countByGrupa(222));
+        reloaded.close();
+    }
+
+    @Test
+    public void invalidOption_isRejected() throws IOException {
+        for (String fisier : new String[]{"Studenti.txt", "Teme.txt", "Note.txt"}) {
+            Files.createFile(folder.resolve(fisier));
+        }
+        Properties optiuni = new Properties();
+        optiuni.setProperty(StorageEngines.COMPACTARE, "mult");
+        assertThrows(ValidationException.class, () -> StorageEngines.create(StorageEngines.TEXT, folder.toString(), optiuni));
+    }
+
+    @Test
+    public void unknownType_isRejected() {
+        assertThrows(ValidationException.class, () -> StorageEngines.create("csv", folder.toString()));
+    }
+}
@@ -0,0 +1,178 @@
+package repository;
+
+import domain.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import validation.ValidationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentFileRepositoryTest {
+
+    @TempDir
+    Path folder;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = folder.resolve("Studenti.txt");
+        Files.write(file, List.of(
+                "1,Marginean Diana,225,mdir2356@scs.ubbcluj.ro",
+                "2,Militon Rares,224,mrir1356@scs.ubbcluj.ro",
+                "3,Pop Diana,227,pdir5424@scs.ubbcluj.ro",
+                "4,Danciu Razvan,221,drir3456@scs.ubbcluj.ro"));
+    }
+
+    @Test
+    public void logMode_deleteAndUpdate_appendRecords_resolvedOnLoad() throws IOException {
+        StudentFileRepository repo = new StudentFileRepository(file.toString());
+        repo.enableLogMode(0.9);
+
+        repo.delete("2");
+        repo.update(new Student("3", "Pop Diana", 228, "pdir5424@scs.ubbcluj.ro"));
+
+        List<String> linii = Files.readAllLines(file);
+        assertEquals(6, linii.size());
+        assertEquals(",~,2,Militon Rares,224,mrir1356@scs.ubbcluj.ro", linii.get(4));
+        assertEquals("3,Pop Diana,228,pdir5424@scs.ubbcluj.ro", linii.get(5));
+
+        StudentFileRepository reloaded = new StudentFileRepository(file.toString());
+        assertNull(reloaded.findOne("2"));
+        assertEquals(228, reloaded.findOne("3").getGrupa());
+        assertNotNull(reloaded.findOne("1"));
+    }
+
+    @Test
+    public void load_handlesCrLfBlankLinesAndTombstones() throws IOException {
+        Files.writeString(file, "1,Marginean Diana,225,mdir2356@scs.ubbcluj.ro\r\n\r\n"
+                + "2,Militon Rares,224,mrir1356@scs.ubbcluj.ro\n,~,1,Marginean Diana,225,mdir2356@scs.ubbcluj.ro\n"
+                + "2,Militon Rares,226,mrir1356@scs.ubbcluj.ro");
+
+        StudentFileRepository repo = new StudentFileRepository(file.toString());
+
+        assertNull(repo.findOne("1"));
+        assertEquals(226, repo.findOne("2").getGrupa());
+        assertEquals("mrir1356@scs.ubbcluj.ro", repo.findOne("2").getEmail());
+    }
+
+    @Test
+    public void parallelLoad_appliesChunksInFileOrder() throws IOException {
+        StringBuilder continut = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            continut.append(i).append(",Student ").append(i).append(",221,s").append(i).append("@scs.ubbcluj.ro\n");
+        }
+        for (int i = 0; i < 100; i += 2) {
+            continut.append(",~,").append(i).append(",Student ").append(i).append(",221,s").append(i).append("@scs.ubbcluj.ro\n");
+        }
+        continut.append("1,Student 1,226,s1@scs.ubbcluj.ro");
+        Files.writeString(file, continut);
+
+        System.setProperty(ParallelLoader.MARIME_BUCATA, "100");
+        try {
+            StudentFileRepository repo = new StudentFileRepository(file.toString());
+            List<Student> studenti = new ArrayList<>();
+            repo.findAll().forEach(studenti::add);
+            assertEquals(50, studenti.size());
+            assertNull(repo.findOne("98"));
+            assertEquals(226, repo.findOne("1").getGrupa());
+            assertEquals("Student 99", repo.findOne("99").getNume());
+        } finally {
+            System.clearProperty(ParallelLoader.MARIME_BUCATA);
+        }
+    }
+
+    @Test
+    public void logMode_compactsInBackground_whenGarbageRatioIsExceeded() throws Exception {
+        StudentFileRepository repo = new StudentFileRepository(file.toString());
+        repo.enableLogMode(0.5);
+
+        repo.delete("1");
+        repo.delete("2");
+        repo.delete("3");
+
+        long limita = System.currentTimeMillis() + 5000;
+        while (Files.readAllLines(file).size() != 1 && System.currentTimeMillis() < limita) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("4,Danciu Razvan,221,drir3456@scs.ubbcluj.ro"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void logMode_idStartingWithTheDeleteMarker_isNotATombstone() throws IOException {
+        StudentFileRepository repo = new StudentFileRepository(file.toString());
+        repo.enableLogMode(0.9);
+
+        repo.save(new Student("~5", "Ion Pop", 221, "ipir0000@scs.ubbcluj.ro"));
+        repo.delete("4");
+        repo.close();
+
+        StudentFileRepository reloaded = new StudentFileRepository(file.toString());
+        assertEquals("Ion Pop", reloaded.findOne("~5").getNume());
+        assertNull(reloaded.findOne("4"));
+    }
+
+    @Test
+    public void logMode_failedBackgroundCompaction_isReportedByClose() throws IOException {
+        Files.createDirectory(Path.of(file + ".tmp"));
+        StudentFileRepository repo = new StudentFileRepository(file.toString());
+        repo.enableLogMode(0.5);
+
+        repo.delete("1");
+        repo.delete("2");
+        repo.delete("3");
+
+        assertThrows(ValidationException.class, repo::close);
+        assertNull(new StudentFileRepository(file.toString()).findOne("3"));
+    }
+
+    @Test
+    public void update_withoutLogMode_rewritesFile() throws IOException {
+        StudentFileRepository repo = new StudentFileRepository(file.toString());
+
+        assertNull(repo.update(new Student("1", "Marginean Diana", 226, "mdir2356@scs.ubbcluj.ro")));
+
+        assertEquals(4, Files.readAllLines(file).size());
+        assertEquals(226, new StudentFileRepository(file.toString()).findOne("1").getGrupa());
+    }
+
+    @Test
+    public void writeBehind_defersWritesUntilFlush() throws IOException {
+        StudentFileRepository repo = new StudentFileRepository(file.toString());
+        repo.enableWriteBehind(60_000, 1000);
+
+        repo.save(new Student("5", "Ion Pop", 221, "ipir0000@scs.ubbcluj.ro"));
+        repo.delete("1");
+        assertEquals(4, Files.readAllLines(file).size());
+        assertTrue(Files.readString(file).contains("Marginean Diana"));
+
+        repo.flush();
+        StudentFileRepository reloaded = new StudentFileRepository(file.toString());
+        assertNotNull(reloaded.findOne("5"));
+        assertNull(reloaded.findOne("1"));
+        repo.close();
+    }
+
+    @Test
+    public void writeBehind_writesInBackground_whenBatchIsFull() throws Exception {
+        StudentFileRepository repo = new StudentFileRepository(file.toString());
+        repo.enableWriteBehind(60_000, 2);
+
+        repo.delete("1");
+        repo.delete("2");
+
+        long limita = System.currentTimeMillis() + 5000;
+        while (Files.readAllLines(file).size() != 2 && System.currentTimeMillis() < limita) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, Files.readAllLines(file).size());
+        repo.close();
+    }
+}
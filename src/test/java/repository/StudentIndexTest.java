@@ -0,0 +1,49 @@
+package repository;
+
+import domain.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentIndexTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void inMemory_groupIndexFollowsChanges() {
+        checkGroupIndex(new StudentInMemoryRepository());
+    }
+
+    @Test
+    public void jdbc_groupQueriesMatchTheIndex() {
+        StudentJDBCRepo repo = new StudentJDBCRepo("jdbc:h2:" + folder.resolve("laborator").toAbsolutePath());
+        checkGroupIndex(repo);
+        repo.close();
+    }
+
+    private static void checkGroupIndex(StudentRepository repo) {
+        for (int i = 0; i < 30; i++) {
+            repo.save(new Student(String.valueOf(i), "Student " + i, 221 + i % 3, i + "@scs.ubbcluj.ro"));
+        }
+        assertArrayEquals(new int[]{221, 222, 223}, repo.findGrupe());
+        assertEquals(10, repo.countByGrupa(222));
+
+        repo.update(new Student("1", "Student 1", 221, "1@scs.ubbcluj.ro"));
+        repo.delete("4");
+        repo.save(new Student("99", "Student 99", 931, "99@scs.ubbcluj.ro"));
+
+        assertEquals(11, repo.countByGrupa(221));
+        assertEquals(8, repo.countByGrupa(222));
+        List<String> ids = repo.findByGrupa(222).stream().map(Student::getID).sorted().collect(Collectors.toList());
+        assertEquals(List.of("10", "13", "16", "19", "22", "25", "28", "7"), ids);
+        assertEquals(0, repo.countByGrupa(500));
+        assertTrue(repo.findByGrupa(500).isEmpty());
+        assertArrayEquals(new int[]{221, 222, 223, 931}, repo.findGrupe());
+    }
+}
@@ -0,0 +1,61 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+import validation.ValidationException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindSchedulerTest {
+
+    @Test
+    public void flush_waitsForTheBackgroundWriteInProgress() throws InterruptedException {
+        CountDownLatch inceput = new CountDownLatch(1);
+        AtomicBoolean terminat = new AtomicBoolean();
+        WriteBehindScheduler scheduler = new WriteBehindScheduler("test", () -> {
+            inceput.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            terminat.set(true);
+        }, 60_000, 1);
+        scheduler.markDirty(1);
+        assertTrue(inceput.await(5, TimeUnit.SECONDS));
+
+        scheduler.flush();
+        assertTrue(terminat.get());
+        scheduler.close();
+    }
+
+    @Test
+    public void failedWrite_isReportedByFlush_andRetriedInTheBackground() throws InterruptedException {
+        AtomicBoolean esueaza = new AtomicBoolean(true);
+        AtomicInteger scrieri = new AtomicInteger();
+        WriteBehindScheduler scheduler = new WriteBehindScheduler("test", () -> {
+            if (esueaza.get()) {
+                throw new ValidationException("Disc plin");
+            }
+            scrieri.incrementAndGet();
+        }, 5, 1000);
+        scheduler.markDirty(1);
+        assertThrows(ValidationException.class, scheduler::flush);
+
+        //scrierea periodica continua dupa esecuri si scrie modificarile ramase in asteptare
+        Thread.sleep(30);
+        esueaza.set(false);
+        long limita = System.currentTimeMillis() + 5000;
+        while (scrieri.get() == 0 && System.currentTimeMillis() < limita) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, scrieri.get());
+        scheduler.flush();
+        assertEquals(1, scrieri.get());
+        scheduler.close();
+    }
+}
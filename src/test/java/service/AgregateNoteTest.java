@@ -0,0 +1,120 @@
+package service;
+
+import domain.Nota;
+import domain.Student;
+import domain.Tema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import repository.InMemoryRepository;
+import repository.NotaColumnarRepository;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgregateNoteTest {
+
+    private InMemoryRepository<String, Student> studenti;
+    private InMemoryRepository<String, Tema> teme;
+    private NotaColumnarRepository note;
+    private AgregateNote agregate;
+
+    @BeforeEach
+    void setUp() {
+        studenti = new InMemoryRepository<>();
+        teme = new InMemoryRepository<>();
+        note = new NotaColumnarRepository();
+        studenti.save(new Student("1", "Ana", 221, "ana@scs.ubbcluj.ro"));
+        studenti.save(new Student("2", "Ion", 221, "ion@scs.ubbcluj.ro"));
+        studenti.save(new Student("3", "Dan", 222, "dan@scs.ubbcluj.ro"));
+        teme.save(new Tema("1", "Tema 1", 2, 1));
+        teme.save(new Tema("2", "Tema 2", 3, 2));
+        note.save(nota("1", "1", 9));
+        agregate = new AgregateNote(studenti, teme, note);
+        note.save(nota("1", "2", 4));
+        note.save(nota("2", "1", 7));
+        note.save(nota("3", "1", 10));
+    }
+
+    @Test
+    public void aggregates_includeExistingAndNewGrades() {
+        StatisticaNote student = agregate.student("1");
+        assertEquals(2, student.getNumar());
+        assertEquals(6.5, student.getMedie());
+        assertEquals(4, student.getMinim());
+        assertEquals(9, student.getMaxim());
+        assertEquals(0.5, student.getPromovabilitate());
+
+        StatisticaNote tema = agregate.tema("1");
+        assertEquals(3, tema.getNumar());
+        assertEquals(7, tema.getMinim());
+        assertEquals(10, tema.getMaxim());
+
+        StatisticaNote grupa = agregate.grupa(221);
+        assertEquals(3, grupa.getNumar());
+        assertEquals(20, grupa.getMedie() * 3, 1e-9);
+        assertEquals(0, agregate.grupa(999).getNumar());
+        assertTrue(Double.isNaN(agregate.student("9").getMedie()));
+    }
+
+    @Test
+    public void updateAndDelete_recomputeExtremes() {
+        note.update(nota("1", "1", 3));
+        assertEquals(3, agregate.student("1").getMinim());
+        assertEquals(4, agregate.student("1").getMaxim());
+        assertEquals(0.0, agregate.student("1").getPromovabilitate());
+
+        note.delete("3#1");
+        assertEquals(7, agregate.tema("1").getMaxim());
+        assertEquals(2, agregate.tema("1").getNumar());
+        assertEquals(0, agregate.grupa(222).getNumar());
+    }
+
+    @Test
+    public void studentChanges_moveAndDropGrades() {
+        studenti.update(new Student("2", "Ion", 222, "ion@scs.ubbcluj.ro"));
+        assertEquals(2, agregate.grupa(221).getNumar());
+        assertEquals(9, agregate.grupa(221).getMaxim());
+        assertEquals(2, agregate.grupa(222).getNumar());
+        assertEquals(7, agregate.grupa(222).getMinim());
+
+        studenti.delete("3");
+        assertEquals(1, agregate.grupa(222).getNumar());
+        assertEquals(2, agregate.tema("1").getNumar());
+
+        teme.delete("2");
+        assertEquals(0, agregate.tema("2").getNumar());
+        assertEquals(1, agregate.student("1").getNumar());
+        assertEquals(9, agregate.grupa(221).getMaxim());
+    }
+
+    @Test
+    public void groupExtremes_areRecomputedFromGroupMembersOnly() {
+        note.delete("1#2");
+        assertEquals(7, agregate.grupa(221).getMinim());
+        assertEquals(9, agregate.grupa(221).getMaxim());
+
+        note.delete("3#1");
+        assertEquals(0, agregate.grupa(222).getNumar());
+        note.save(nota("3", "2", 6));
+        assertEquals(1, agregate.grupa(222).getNumar());
+        assertEquals(6, agregate.grupa(222).getMinim());
+
+        studenti.update(new Student("1", "Ana", 222, "ana@scs.ubbcluj.ro"));
+        note.delete("3#2");
+        assertEquals(9, agregate.grupa(222).getMinim());
+        assertEquals(9, agregate.grupa(222).getMaxim());
+        assertEquals(7, agregate.grupa(221).getMinim());
+
+        studenti.delete("2");
+        assertEquals(0, agregate.grupa(221).getNumar());
+        studenti.save(new Student("2", "Ion", 221, "ion@scs.ubbcluj.ro"));
+        note.save(nota("2", "2", 8));
+        assertEquals(8, agregate.grupa(221).getMinim());
+        assertEquals(1, agregate.grupa(222).getNumar());
+    }
+
+    private static Nota nota(String idStudent, String idTema, double valoare) {
+        return new Nota(idStudent + "#" + idTema, idStudent, idTema, valoare, LocalDate.of(2022, 5, 3));
+    }
+}
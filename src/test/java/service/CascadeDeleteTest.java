@@ -0,0 +1,89 @@
+package service;
+
+import domain.Nota;
+import domain.Student;
+import domain.Tema;
+import feedback.FeedbackStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.NotaQuery;
+import repository.StorageEngine;
+import repository.StorageEngines;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CascadeDeleteTest {
+
+    @TempDir
+    Path folder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String gol = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><inbox></inbox>";
+        for (String fisier : new String[]{"Studenti.xml", "Teme.xml", "Note.xml"}) {
+            Files.writeString(folder.resolve(fisier), gol);
+        }
+        StorageEngine engine = StorageEngines.create(StorageEngines.XML, folder.toString());
+        Service service = new Service(engine, new FeedbackStore(folder));
+        List<Nota> note = new ArrayList<>();
+        for (int s = 1; s <= 3; s++) {
+            service.addStudent(new Student(String.valueOf(s), "Student " + s, 221, s + "@scs.ubbcluj.ro"));
+            for (int t = 1; t <= 4; t++) {
+                note.add(new Nota(s + "#" + t, String.valueOf(s), String.valueOf(t), 8, LocalDate.of(2022, 5, 3)));
+            }
+        }
+        for (int t = 1; t <= 4; t++) {
+            service.addTema(new Tema(String.valueOf(t), "Tema " + t, 1, 1));
+        }
+        engine.note().saveAll(note);
+        service.close();
+    }
+
+    @Test
+    public void deleteStudent_removesTheStudentsGrades() {
+        Service service = open();
+        assertNotNull(service.deleteStudent("2"));
+        assertEquals(8, count(service.getAllNote()));
+        assertEquals(8, service.getStatisticaGrupa(221).getNumar());
+        service.close();
+
+        Service reopened = open();
+        assertEquals(8, count(reopened.getAllNote()));
+        assertNull(reopened.findNota("2#1"));
+        reopened.close();
+    }
+
+    @Test
+    public void deleteTema_removesTheTemasGrades() {
+        Service service = open();
+        assertNotNull(service.deleteTema("3"));
+        assertNull(service.deleteTema("3"));
+        assertEquals(0, service.getStatisticaTema("3").getNumar());
+        service.close();
+
+        Service reopened = open();
+        assertEquals(9, count(reopened.getAllNote()));
+        assertFalse(reopened.findNote(new NotaQuery().tema("3")).findAny().isPresent());
+        reopened.close();
+    }
+
+    private Service open() {
+        return new Service(StorageEngines.create(StorageEngines.XML, folder.toString()), new FeedbackStore(folder));
+    }
+
+    private static int count(Iterable<Nota> note) {
+        int numar = 0;
+        for (Nota ignored : note) {
+            numar++;
+        }
+        return numar;
+    }
+}
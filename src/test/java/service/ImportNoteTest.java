@@ -0,0 +1,140 @@
+package service;
+
+import domain.Nota;
+import domain.Student;
+import domain.Tema;
+import feedback.FeedbackStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.StorageEngines;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImportNoteTest {
+
+    @TempDir
+    Path folder;
+
+    private Service service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new Service(StorageEngines.create(StorageEngines.MEMORY, folder.toString()), new FeedbackStore(folder));
+        service.addStudent(new Student("1", "Ana", 221, "ana@scs.ubbcluj.ro"));
+        service.addStudent(new Student("2", "Ion", 222, "ion@scs.ubbcluj.ro"));
+        service.addTema(new Tema("1", "Tema 1", 1, 1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.close();
+    }
+
+    @Test
+    public void importCsv_savesValidGrades_andReportsRejected() throws IOException {
+        Path sursa = folder.resolve("import.txt");
+        Files.write(sursa, List.of(
+                "1,1,9.0,2022-05-03",
+                "2,1,8.0,2022-05-10",
+                "3,1,7.0,2022-05-03",
+                "",
+                "2,1,6.0,2022-05-03",
+                "1,1,abc,2022-05-03"));
+        Path raport = folder.resolve("respinse.txt");
+
+        RaportImport rezultat = service.importNote(sursa, raport);
+
+        assertEquals(2, rezultat.getAcceptate());
+        assertEquals(3, rezultat.getRespinse());
+        assertEquals(9.0, service.findNota("1#1").getNota());
+        assertEquals(5.5, service.findNota("2#1").getNota());
+        List<String> respinse = Files.readAllLines(raport);
+        assertEquals(3, respinse.size());
+        assertTrue(respinse.get(0).startsWith("linia 3:") && respinse.get(0).endsWith("Studentul nu exista!"));
+        assertTrue(respinse.get(1).endsWith("Nota exista deja!"));
+        assertTrue(respinse.get(2).endsWith("Format invalid!"));
+    }
+
+    @Test
+    public void importXml_appliesLatePenalty_andRejectsTooLate() throws IOException {
+        Path sursa = folder.resolve("import.xml");
+        Files.write(sursa, List.of(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>",
+                "<inbox>",
+                "<nota><idStudent>1</idStudent><idTema>1</idTema><notaProf>10.0</notaProf><dataCurenta>2022-05-10</dataCurenta></nota>",
+                "<nota><idStudent>2</idStudent><idTema>1</idTema><notaProf>10.0</notaProf><dataCurenta>2022-05-20</dataCurenta></nota>",
+                "</inbox>"));
+        Path raport = folder.resolve("respinse.txt");
+
+        RaportImport rezultat = service.importNote(sursa, raport);
+
+        assertEquals(1, rezultat.getAcceptate());
+        assertEquals(1, rezultat.getRespinse());
+        Nota nota = service.findNota("1#1");
+        assertEquals(7.5, nota.getNota());
+        assertEquals(2.5, nota.getPenalizare());
+        assertEquals(10.0, nota.getNotaInitiala());
+        assertNull(service.findNota("2#1"));
+        assertTrue(Files.readAllLines(raport).get(0).endsWith("Studentul nu mai poate preda aceasta tema!"));
+    }
+
+    @Test
+    public void importXml_rejectsRecordsWithNestedFields_andIgnoresUnknownSubtrees() throws IOException {
+        service.addTema(new Tema("2", "Tema 2", 1, 1));
+        Path sursa = folder.resolve("import.xml");
+        Files.write(sursa, List.of(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>",
+                "<inbox>",
+                "<nota><idStudent>1</idStudent><idTema>1</idTema><notaProf><valoare>9</valoare></notaProf><dataCurenta>2022-05-03</dataCurenta></nota>",
+                "<nota><idStudent>2</idStudent><idTema>1</idTema><notaProf>8.0</notaProf><dataCurenta>2022-05-03</dataCurenta>"
+                        + "<observatii><b>bine</b> lucrat</observatii></nota>",
+                "<nota><idStudent>1</idStudent><idTema>2</idTema><notaProf>7.0</notaProf><dataCurenta>2022-05-03</dataCurenta></nota>",
+                "</inbox>"));
+        Path raport = folder.resolve("respinse.txt");
+
+        RaportImport rezultat = service.importNote(sursa, raport);
+
+        assertEquals(2, rezultat.getAcceptate());
+        assertEquals(1, rezultat.getRespinse());
+        assertNull(service.findNota("1#1"));
+        assertEquals(8.0, service.findNota("2#1").getNota());
+        assertEquals(7.0, service.findNota("1#2").getNota());
+        assertTrue(Files.readAllLines(raport).get(0).endsWith("Format invalid!"));
+    }
+
+    @Test
+    public void importCsv_exportedNotesKeepTheirPenalty() throws IOException {
+        Path sursa = folder.resolve("import.txt");
+        Files.write(sursa, List.of("1,1,9.0,2022-05-03", "2,1,8.0,2022-05-10"));
+        service.importNote(sursa, folder.resolve("respinse.txt"));
+        Path export = folder.resolve("Note.txt");
+        List<String> linii = new ArrayList<>();
+        service.getAllNote().forEach(nota -> linii.add(nota.toString()));
+        Files.write(export, linii);
+
+        Path altFolder = Files.createDirectory(folder.resolve("copie"));
+        Service copie = new Service(StorageEngines.create(StorageEngines.MEMORY, altFolder.toString()), new FeedbackStore(altFolder));
+        try {
+            copie.addStudent(new Student("1", "Ana", 221, "ana@scs.ubbcluj.ro"));
+            copie.addStudent(new Student("2", "Ion", 222, "ion@scs.ubbcluj.ro"));
+            copie.addTema(new Tema("1", "Tema 1", 1, 1));
+
+            RaportImport rezultat = copie.importNote(export, altFolder.resolve("respinse.txt"));
+
+            assertEquals(2, rezultat.getAcceptate());
+            assertEquals(9.0, copie.findNota("1#1").getNota());
+            assertEquals(5.5, copie.findNota("2#1").getNota());
+            assertEquals(2.5, copie.findNota("2#1").getPenalizare());
+        } finally {
+            copie.close();
+        }
+    }
+}
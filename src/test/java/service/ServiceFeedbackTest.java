@@ -0,0 +1,54 @@
+package service;
+
+import feedback.Feedback;
+import feedback.FeedbackSink;
+import feedback.FeedbackStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.StorageEngines;
+import validation.ValidationException;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceFeedbackTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void defaultFeedbackStore_isReadFromTheEngineFolder() {
+        FeedbackStore store = new FeedbackStore(folder);
+        store.write(new Feedback("1", "Ana", "1", 9.0, 3, 3, "Bine"));
+        store.close();
+
+        Service service = new Service(StorageEngines.create(StorageEngines.MEMORY, folder.toString()));
+        List<Feedback> feedback = service.getFeedback("1");
+        assertEquals(1, feedback.size());
+        assertEquals("Bine", feedback.get(0).getText());
+        service.close();
+    }
+
+    @Test
+    public void givenSink_isTheOnlyFeedbackDestination() {
+        FeedbackSink sink = new FeedbackSink() {
+            @Override
+            public void write(Feedback feedback) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Service service = new Service(StorageEngines.create(StorageEngines.MEMORY, folder.toString()), sink);
+        assertThrows(ValidationException.class, () -> service.getFeedback("1"));
+        service.close();
+        assertEquals(0, folder.toFile().list().length);
+    }
+}
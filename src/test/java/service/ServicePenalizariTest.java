@@ -0,0 +1,77 @@
+package service;
+
+import domain.Nota;
+import domain.Student;
+import domain.Tema;
+import feedback.FeedbackStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.StorageEngine;
+import repository.StorageEngines;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServicePenalizariTest {
+
+    @TempDir
+    Path folder;
+
+    private StorageEngine engine;
+    private Service service;
+
+    @BeforeEach
+    public void setUp() {
+        engine = StorageEngines.create(StorageEngines.MEMORY, folder.toString());
+        service = new Service(engine, new FeedbackStore(folder));
+        service.addStudent(new Student("1", "Ana", 221, "ana@scs.ubbcluj.ro"));
+        service.addTema(new Tema("1", "Tema 1", 1, 1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.close();
+    }
+
+    @Test
+    public void updateTema_recomputesPenaltiesFromTheInitialGrade() {
+        // predata in saptamana 2, deadline-ul este in saptamana 1
+        engine.note().save(new Nota("1#1", "1", "1", 5.5, LocalDate.of(2022, 5, 10), 2.5));
+
+        assertNull(service.updateTema(new Tema("1", "Tema 1", 3, 1)));
+        assertEquals(8.0, service.findNota("1#1").getNota());
+        assertEquals(0.0, service.findNota("1#1").getPenalizare());
+
+        service.updateTema(new Tema("1", "Tema 1", 1, 1));
+        assertEquals(5.5, service.findNota("1#1").getNota());
+        assertEquals(2.5, service.findNota("1#1").getPenalizare());
+    }
+
+    @Test
+    public void legacyGrades_areOnlyPenalizedThroughTheMigration() {
+        // nota veche: 2.5 puncte scazute, dar penalizarea nu a fost memorata
+        engine.note().save(new Nota("1#1", "1", "1", 5.5, LocalDate.of(2022, 5, 10)));
+
+        assertEquals(1, service.migreazaPenalizari());
+        assertEquals(5.5, service.findNota("1#1").getNota());
+        assertEquals(2.5, service.findNota("1#1").getPenalizare());
+        assertEquals(0, service.migreazaPenalizari());
+
+        service.updateTema(new Tema("1", "Tema 1", 2, 1));
+        assertEquals(8.0, service.findNota("1#1").getNota());
+    }
+
+    @Test
+    public void gradesWithoutPenalty_getNothingAddedWhenTheDeadlineMoves() {
+        engine.note().save(new Nota("1#1", "1", "1", 9.0, LocalDate.of(2022, 5, 10)));
+
+        service.updateTema(new Tema("1", "Tema 1", 2, 1));
+
+        assertEquals(9.0, service.findNota("1#1").getNota());
+        assertEquals(0.0, service.findNota("1#1").getPenalizare());
+    }
+}
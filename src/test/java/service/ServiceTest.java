@@ -1,5 +1,6 @@
 package service;
 
+import domain.Nota;
 import domain.Student;
 import domain.Tema;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import validation.StudentValidator;
 import validation.TemaValidator;
 import validation.ValidationException;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -195,4 +197,25 @@ public class ServiceTest {
         assertThrows(ValidationException.class,
                 () -> service.addTema(new Tema("nrTema", "descriere", 10, 9999)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_recalculeazaPenalizare_penalizesOnlyLateGrades() {
+        LocalDate data = LocalDate.of(2022, 5, 20);
+        Nota laTimp = new Nota("1#1", "1", "1", 9, data, 0);
+        Nota intarziata = new Nota("1#1", "1", "1", 6.5, data, 2.5);
+
+        Nota penalizata = Service.recalculeazaPenalizare(laTimp, 3, 2);
+        assertEquals(6.5, penalizata.getNota());
+        assertEquals(2.5, penalizata.getPenalizare());
+        assertNull(Service.recalculeazaPenalizare(intarziata, 3, 2));
+        // mult dupa noul deadline: nota ramane, penalizata o singura data
+        assertNull(Service.recalculeazaPenalizare(intarziata, 3, 1));
+        assertEquals(6.5, Service.recalculeazaPenalizare(laTimp, 3, 1).getNota());
+
+        // deadline mutat cu doua saptamani mai tarziu: nota devine la timp
+        Nota iertata = Service.recalculeazaPenalizare(intarziata, 3, 4);
+        assertEquals(9, iertata.getNota());
+        assertEquals(0, iertata.getPenalizare());
+        assertNull(Service.recalculeazaPenalizare(laTimp, 3, 5));
+    }
+}
@@ -0,0 +1,43 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntHashMapTest {
+
+    @Test
+    public void putGetRemove_matchHashMap() {
+        IntHashMap<String> map = new IntHashMap<>();
+        Map<Integer, String> asteptat = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int cheie = random.nextInt(500) - 250;
+            if (random.nextInt(3) == 0) {
+                assertEquals(asteptat.remove(cheie), map.remove(cheie));
+            } else {
+                assertEquals(asteptat.put(cheie, "v" + i), map.put(cheie, "v" + i));
+            }
+        }
+        assertEquals(asteptat.size(), map.size());
+        for (int cheie = -250; cheie < 250; cheie++) {
+            assertEquals(asteptat.get(cheie), map.get(cheie));
+            assertEquals(asteptat.containsKey(cheie), map.containsKey(cheie));
+        }
+        assertEquals(asteptat.size(), map.keys().length);
+    }
+
+    @Test
+    public void computeIfAbsent_createsOnce() {
+        IntHashMap<StringBuilder> map = new IntHashMap<>();
+        map.computeIfAbsent(221, k -> new StringBuilder()).append("a");
+        map.computeIfAbsent(221, k -> new StringBuilder()).append("b");
+        assertEquals("ab", map.get(221).toString());
+        assertArrayEquals(new int[]{221}, map.keys());
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+    }
+}
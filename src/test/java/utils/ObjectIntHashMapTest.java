@@ -0,0 +1,36 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectIntHashMapTest {
+
+    @Test
+    public void putGetRemove_matchHashMap() {
+        ObjectIntHashMap<String> map = new ObjectIntHashMap<>();
+        Map<String, Integer> asteptat = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            String cheie = "s" + random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(asteptat.remove(cheie) != null, map.remove(cheie));
+            } else {
+                asteptat.put(cheie, i);
+                map.put(cheie, i);
+            }
+        }
+        assertEquals(asteptat.size(), map.size());
+        for (int i = 0; i < 500; i++) {
+            String cheie = "s" + i;
+            assertEquals((int) asteptat.getOrDefault(cheie, -1), map.getOrDefault(cheie, -1));
+            assertEquals(asteptat.containsKey(cheie), map.containsKey(cheie));
+        }
+        assertEquals(-1, map.getOrDefault(null, -1));
+        assertThrows(IllegalArgumentException.class, () -> map.put(null, 1));
+    }
+}
@@ -0,0 +1,86 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentHashMapTest {
+
+    /**
+     * Cheie cu hash ales, pentru a forta coliziuni
+     */
+    private static final class Cheie {
+        private final int valoare;
+
+        private Cheie(int valoare) {
+            this.valoare = valoare;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Cheie && ((Cheie) o).valoare == valoare;
+        }
+
+        @Override
+        public int hashCode() {
+            return valoare % 7;
+        }
+    }
+
+    @Test
+    public void plusAndMinus_matchHashMap_andKeepOlderVersionsUnchanged() {
+        Random random = new Random(42);
+        Map<Integer, Integer> asteptat = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 20000; i++) {
+            int cheie = random.nextInt(3000) - 1500;
+            if (random.nextInt(3) == 0) {
+                asteptat.remove(cheie);
+                map = map.minus(cheie);
+            } else {
+                asteptat.put(cheie, i);
+                map = map.plus(cheie, i);
+            }
+        }
+        assertEquals(asteptat.size(), map.size());
+        for (int cheie = -1500; cheie < 1500; cheie++) {
+            assertEquals(asteptat.get(cheie), map.get(cheie));
+        }
+        assertEquals(new HashSet<>(asteptat.values()), new HashSet<>(map.values()));
+        assertEquals(asteptat.size(), map.values().stream().count());
+
+        PersistentHashMap<Integer, Integer> vechi = map;
+        map = map.plus(100000, 1).minus(asteptat.keySet().iterator().next());
+        assertEquals(asteptat.size(), vechi.size());
+        assertNull(vechi.get(100000));
+    }
+
+    @Test
+    public void collidingKeys_areStoredAndRemovedSeparately() {
+        PersistentHashMap<Cheie, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 70; i++) {
+            map = map.plus(new Cheie(i), i);
+        }
+        assertEquals(70, map.size());
+        for (int i = 0; i < 70; i += 2) {
+            map = map.minus(new Cheie(i));
+        }
+        assertEquals(35, map.size());
+        Set<Integer> valori = new HashSet<>(map.values());
+        for (int i = 0; i < 70; i++) {
+            assertEquals(i % 2 == 1 ? Integer.valueOf(i) : null, map.get(new Cheie(i)));
+            assertEquals(i % 2 == 1, valori.contains(i));
+        }
+        for (int i = 1; i < 70; i += 2) {
+            map = map.minus(new Cheie(i));
+        }
+        assertEquals(0, map.size());
+        assertFalse(map.values().iterator().hasNext());
+    }
+}